@@ -0,0 +1,54 @@
+package com.kephas.bookstoreapi.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BOOKS = "books";
+    public static final String AUTHORS = "authors";
+    public static final String CATEGORIES = "categories";
+    public static final String PRINCIPALS = "principals";
+
+    /**
+     * Caffeine caches (W-TinyLFU admission, size bound plus TTL). Evictions are deferred until the
+     * surrounding transaction commits so a concurrent read cannot repopulate a value that is about to change.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${bookstore.cache.ttl:10m}") Duration ttl,
+                                     @Value("${bookstore.cache.books.maximum-size:10000}") long booksMaximumSize,
+                                     @Value("${bookstore.cache.authors.maximum-size:1000}") long authorsMaximumSize,
+                                     @Value("${bookstore.cache.categories.maximum-size:1000}") long categoriesMaximumSize,
+                                     @Value("${bookstore.cache.principals.ttl:30s}") Duration principalsTtl,
+                                     @Value("${bookstore.cache.principals.maximum-size:10000}") long principalsMaximumSize) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                cache(BOOKS, booksMaximumSize, ttl),
+                cache(AUTHORS, authorsMaximumSize, ttl),
+                cache(CATEGORIES, categoriesMaximumSize, ttl),
+                cache(PRINCIPALS, principalsMaximumSize, principalsTtl)
+        ));
+        cacheManager.initializeCaches();
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private CaffeineCache cache(String name, long maximumSize, Duration ttl) {
+        return new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+    }
+}
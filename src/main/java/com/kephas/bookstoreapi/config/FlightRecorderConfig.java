@@ -0,0 +1,29 @@
+package com.kephas.bookstoreapi.config;
+
+import com.kephas.bookstoreapi.utils.jfr.FlightRecorded;
+import com.kephas.bookstoreapi.utils.jfr.ServiceMethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class FlightRecorderConfig {
+
+    /**
+     * Infrastructure advisor, picked up by the same auto-proxy creator as caching and transactions. It is
+     * ordered first so the {@code ServiceMethod} event covers the cache lookup and the transaction.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor flightRecordedServiceAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(FlightRecorded.class, true), new ServiceMethodInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -2,10 +2,13 @@ package com.kephas.bookstoreapi.config;
 
 import com.kephas.bookstoreapi.exceptions.InvalidLoginCredentialsException;
 import com.kephas.bookstoreapi.repositories.UserRepository;
+import com.kephas.bookstoreapi.utils.BoundedPasswordEncoder;
 import com.kephas.bookstoreapi.utils.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -14,10 +17,15 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Map;
+import java.util.Objects;
 
 @Configuration
 @EnableWebSecurity
@@ -29,7 +37,7 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthFilter;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, Environment environment) throws Exception {
         http.authorizeHttpRequests( auth -> auth
                         .requestMatchers(HttpMethod.GET, "/api/v1/books/**").hasAnyRole("USER", "ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/v1/categories/**").hasAnyRole("USER", "ADMIN")
@@ -55,6 +63,12 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/authors/**").hasRole("ADMIN")
 
 
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers(internalScrape(environment)).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         .anyRequest().permitAll()
 
 
@@ -66,9 +80,33 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Matches Prometheus scrapes that arrive on the separate management port. That port is not published outside
+     * the deployment, so the scraper needs no user token there; anywhere else the endpoint stays admin-only.
+     * Boot only sets {@code local.management.port} when the management server runs on its own port.
+     */
+    static RequestMatcher internalScrape(Environment environment) {
+        return request -> "/actuator/prometheus".equals(request.getRequestURI())
+                && Objects.equals(request.getLocalPort(), environment.getProperty("local.management.port", Integer.class));
+    }
+
+    /**
+     * Delegating encoder with a configurable cost for new {@code {bcrypt}} hashes. Hashes under any other id that
+     * {@link PasswordEncoderFactories} knows ({@code {noop}}, {@code {pbkdf2}}, {@code {argon2}}, ...) still match
+     * through the factory's encoder.
+     * Hashing runs on a small bounded pool so a burst of logins is rejected with 503 instead of occupying
+     * every servlet thread.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder (){
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${bookstore.security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${bookstore.security.password.hashing-threads:0}") int hashingThreads,
+            @Value("${bookstore.security.password.hashing-queue-capacity:64}") int hashingQueueCapacity) {
+        DelegatingPasswordEncoder delegate = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(bcryptStrength)));
+        delegate.setDefaultPasswordEncoderForMatches(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegate, threads, hashingQueueCapacity);
     }
 
     @Bean
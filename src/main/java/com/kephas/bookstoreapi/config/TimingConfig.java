@@ -0,0 +1,71 @@
+package com.kephas.bookstoreapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kephas.bookstoreapi.utils.timing.RequestTimingFilter;
+import com.kephas.bookstoreapi.utils.timing.TimedJacksonHttpMessageConverter;
+import com.kephas.bookstoreapi.utils.timing.TimingJdbcProxyFactory;
+import com.kephas.bookstoreapi.utils.timing.TimingQueryListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Opt-in per-request cost breakdown ({@code bookstore.timing.enabled}). A fraction of requests
+ * ({@code bookstore.timing.sample-rate}) report time spent in JWT verification, the principal lookup, JDBC,
+ * mapping and serialization, plus statement and row counts, in a {@code Server-Timing} header and a log line.
+ * When disabled none of these beans exist and the data source is not proxied.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookstore.timing.enabled", havingValue = "true")
+public class TimingConfig {
+
+    /**
+     * Runs ahead of the Spring Security chain so the JWT and principal lookup phases are inside the sample.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestTimingFilter> requestTimingFilter(
+            @Value("${bookstore.timing.sample-rate:0.01}") double sampleRate) {
+        FilterRegistrationBean<RequestTimingFilter> registration =
+                new FilterRegistrationBean<>(new RequestTimingFilter(sampleRate));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    /**
+     * Replaces Boot's Jackson converter (it backs off when one is defined), keeping the configured mapper.
+     */
+    @Bean
+    public TimedJacksonHttpMessageConverter timedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+
+    /**
+     * Connections and result sets are only proxied while a sampled request is in progress, so unsampled
+     * requests pay one thread-local read per connection checkout.
+     */
+    @Bean
+    public static BeanPostProcessor timingDataSourceProxy() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new TimingQueryListener())
+                        .jdbcProxyFactory(new TimingJdbcProxyFactory())
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+}
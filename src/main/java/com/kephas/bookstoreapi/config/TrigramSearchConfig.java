@@ -0,0 +1,29 @@
+package com.kephas.bookstoreapi.config;
+
+import org.flywaydb.core.api.Location;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Adds the {@code pg_trgm} extension and its GIN indexes to the migrations, only while
+ * {@code bookstore.search.engine=postgres} is selected.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookstore.search.engine", havingValue = "postgres")
+public class TrigramSearchConfig {
+
+    public static final String MIGRATIONS = "classpath:db/search/postgres";
+
+    @Bean
+    public FlywayConfigurationCustomizer trigramSearchMigrations() {
+        return configuration -> configuration.locations(Stream.concat(
+                Arrays.stream(configuration.getLocations()),
+                Stream.of(new Location(MIGRATIONS))
+        ).toArray(Location[]::new));
+    }
+}
@@ -1,19 +1,22 @@
 package com.kephas.bookstoreapi.controllers;
 
 import com.kephas.bookstoreapi.dtos.AuthorDto;
-import com.kephas.bookstoreapi.entities.Author;
-import com.kephas.bookstoreapi.mappers.AuthorMapper;
+import com.kephas.bookstoreapi.dtos.AuthorSummaryDto;
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.CursorPage;
 import com.kephas.bookstoreapi.services.AuthorService;
+import com.kephas.bookstoreapi.services.BookService;
 import com.kephas.bookstoreapi.utils.ApiResponse;
+import com.kephas.bookstoreapi.utils.CatalogHttpCache;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("api/v1/authors")
@@ -21,15 +24,15 @@ import java.util.stream.Collectors;
 public class AuthorController {
 
     private final AuthorService authorService;
-    private AuthorMapper authorMapper;
+    private final BookService bookService;
+    private final CatalogHttpCache catalogHttpCache;
 
     @GetMapping
-    public ApiResponse<List<AuthorDto>> getAuthors() {
-        List<AuthorDto> authors = authorService.getAuthors()
-                .stream()
-                .map(authorMapper::toDto)
-                .collect(Collectors.toList());
-        return ApiResponse.success(null, authors);
+    public ApiResponse<List<AuthorSummaryDto>> getAuthors(ServletWebRequest request) {
+        if (catalogHttpCache.collectionNotModified(request)) {
+            return null;
+        }
+        return ApiResponse.success(null, authorService.getAuthors());
     }
 
     @PostMapping
@@ -40,12 +43,23 @@ public class AuthorController {
     }
 
     @GetMapping("/{id}")
-    public ApiResponse<AuthorDto> getAuthor(@PathVariable UUID id){
-        Author author = authorService.getOneAuthor(id);
-        AuthorDto authorDto = authorMapper.toDto(author);
+    public ApiResponse<AuthorDto> getAuthor(@PathVariable UUID id, @RequestParam(defaultValue = "true") boolean includeBooks, ServletWebRequest request){
+        AuthorDto authorDto = authorService.getOneAuthor(id, includeBooks);
+        if (catalogHttpCache.entityNotModified(request, authorDto)) {
+            return null;
+        }
         return ApiResponse.success(null, authorDto);
     }
 
+    @GetMapping("/{id}/books")
+    public ApiResponse<Object> getAuthorBooks(@PathVariable UUID id, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size, ServletWebRequest request){
+        if (catalogHttpCache.collectionNotModified(request)) {
+            return null;
+        }
+        CursorPage<BookDto> page = bookService.getBooksByAuthor(id, cursor, size);
+        return ApiResponse.success(null, page.items(), page.nextCursor());
+    }
+
     @DeleteMapping("/{id}")
     public ApiResponse<AuthorDto> deleteAuthor(@PathVariable UUID id){
         authorService.deleteAuthor(id);
@@ -1,35 +1,60 @@
 package com.kephas.bookstoreapi.controllers;
 
 import com.kephas.bookstoreapi.dtos.BookDto;
-import com.kephas.bookstoreapi.mappers.BookMapper;
+import com.kephas.bookstoreapi.dtos.BookImportResult;
+import com.kephas.bookstoreapi.dtos.BookSearchCriteria;
+import com.kephas.bookstoreapi.dtos.CursorPage;
+import com.kephas.bookstoreapi.exceptions.BadRequestException;
+import com.kephas.bookstoreapi.services.BookImportService;
 import com.kephas.bookstoreapi.services.BookService;
 import com.kephas.bookstoreapi.utils.ApiResponse;
+import com.kephas.bookstoreapi.utils.BookExportFormat;
+import com.kephas.bookstoreapi.utils.CatalogHttpCache;
+import com.kephas.bookstoreapi.utils.BookSort;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("api/v1/books")
 @AllArgsConstructor
 public class BookController {
-    private final BookMapper bookMapper;
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final CatalogHttpCache catalogHttpCache;
 
 
     @GetMapping
-    public ApiResponse<Object> getBooks(){
-        List<BookDto> books = bookService.getBooks()
-                .stream()
-                .map(bookMapper::toDto)
-                .collect(Collectors.toList());
-        return ApiResponse.success(null, books);
+    public ApiResponse<Object> getBooks(@RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size, ServletWebRequest request){
+        if (catalogHttpCache.collectionNotModified(request)) {
+            return null;
+        }
+        CursorPage<BookDto> page = bookService.getBooks(cursor, size);
+        return ApiResponse.success(null, page.items(), page.nextCursor());
+    }
+
+
+    @GetMapping("/export")
+    public void exportBooks(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response, ServletWebRequest request) throws IOException {
+        BookExportFormat exportFormat = BookExportFormat.from(format);
+        if (catalogHttpCache.collectionNotModified(request)) {
+            return;
+        }
+        response.setContentType(exportFormat.mediaType());
+        response.setCharacterEncoding("UTF-8");
+        bookService.exportBooks(exportFormat, response.getOutputStream());
     }
 
 
@@ -40,9 +65,24 @@ public class BookController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson", "text/csv"})
+    public ApiResponse<Object> importBooks(HttpServletRequest request) throws IOException {
+        boolean csv = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.valueOf("text/csv"));
+        BookImportResult result = csv
+                ? bookImportService.importCsv(request.getInputStream())
+                : bookImportService.importJson(request.getInputStream());
+
+        String message = String.format("Imported %d book%s, %d failed",
+                result.imported(), result.imported() == 1 ? "" : "s", result.failed());
+        return ApiResponse.success(message, result);
+    }
+
     @GetMapping("/{id}")
-    public ApiResponse<Object> getBook(@PathVariable UUID id){
+    public ApiResponse<Object> getBook(@PathVariable UUID id, ServletWebRequest request){
         BookDto bookDto = bookService.getBook(id);
+        if (catalogHttpCache.entityNotModified(request, bookDto)) {
+            return null;
+        }
         return ApiResponse.success(null, bookDto);
     }
 
@@ -60,18 +100,33 @@ public class BookController {
     }
 
     @GetMapping("/search")
-    public ApiResponse<Object> searchForBooks(@RequestParam(required = false) String title, @RequestParam(required = false) String authorName, @RequestParam(required = false) String categoryName, @RequestParam(required = false) Integer year){
-        List<BookDto> books = bookService.searchBooks(title, authorName, categoryName, year)
-                .stream()
-                .map(bookMapper::toDto)
-                .collect(Collectors.toList());
+    public ApiResponse<Object> searchForBooks(@RequestParam(required = false) String keyword, @RequestParam(required = false) String title, @RequestParam(required = false) String authorName, @RequestParam(required = false) String categoryName, @RequestParam(required = false) Integer year,
+                                              @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size,
+                                              @RequestParam(defaultValue = "title") String sort, @RequestParam(defaultValue = "asc") String direction,
+                                              @RequestParam(defaultValue = "false") boolean includeTotal, ServletWebRequest request){
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BadRequestException("Unsupported direction '" + direction + "', expected asc or desc"));
+        BookSearchCriteria criteria = new BookSearchCriteria(keyword, title, authorName, categoryName, year);
+        if (catalogHttpCache.collectionNotModified(request)) {
+            return null;
+        }
+
+        CursorPage<BookDto> page = bookService.searchBooks(criteria, BookSort.from(sort), sortDirection, cursor, size, includeTotal);
+        List<BookDto> books = page.items();
 
         if (books.isEmpty()) {
-            return ApiResponse.success("No books found matching the search criteria", books);
+            return ApiResponse.success("No books found matching the search criteria", books, null, page.approximateTotal());
         }
 
-        String message = String.format("Found %d book%s matching the search criteria",
-                books.size(), books.size() > 1 ? "s" : "");
-        return ApiResponse.success(message, books);
+        String message;
+        if (page.approximateTotal() == null) {
+            message = "Found books matching the search criteria";
+        } else if (page.totalCapped()) {
+            message = String.format("Found at least %d books matching the search criteria", page.approximateTotal());
+        } else {
+            long found = page.approximateTotal();
+            message = String.format("Found %d book%s matching the search criteria", found, found > 1 ? "s" : "");
+        }
+        return ApiResponse.success(message, books, page.nextCursor(), page.approximateTotal());
     }
 }
@@ -1,37 +1,39 @@
 package com.kephas.bookstoreapi.controllers;
 
 
-import com.kephas.bookstoreapi.dtos.AuthorDto;
+import com.kephas.bookstoreapi.dtos.BookDto;
 import com.kephas.bookstoreapi.dtos.CategoryDto;
-import com.kephas.bookstoreapi.mappers.CategoryMapper;
+import com.kephas.bookstoreapi.dtos.CategorySummaryDto;
+import com.kephas.bookstoreapi.dtos.CursorPage;
+import com.kephas.bookstoreapi.services.BookService;
 import com.kephas.bookstoreapi.services.CategoryService;
 import com.kephas.bookstoreapi.utils.ApiResponse;
+import com.kephas.bookstoreapi.utils.CatalogHttpCache;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("api/v1/categories")
 @AllArgsConstructor
 public class CategoryController {
 
-    private final CategoryMapper categoryMapper;
+    private final BookService bookService;
+    private final CatalogHttpCache catalogHttpCache;
     private final CategoryService categoryService;
 
     @GetMapping
-    public ApiResponse<List<CategoryDto>> getCategories() {
-        List<CategoryDto> categories = categoryService.getCategories()
-                .stream()
-                .map(categoryMapper::toDto)
-                .collect(Collectors.toList());
-
-        return ApiResponse.success(null, categories);
+    public ApiResponse<List<CategorySummaryDto>> getCategories(ServletWebRequest request) {
+        if (catalogHttpCache.collectionNotModified(request)) {
+            return null;
+        }
+        return ApiResponse.success(null, categoryService.getCategories());
     }
 
     @PostMapping
@@ -43,11 +45,23 @@ public class CategoryController {
     }
 
     @GetMapping("/{id}")
-    public ApiResponse<CategoryDto> getCategory(@PathVariable UUID id){
-        CategoryDto categoryDto = categoryService.getOneCategory(id);
+    public ApiResponse<CategoryDto> getCategory(@PathVariable UUID id, @RequestParam(defaultValue = "true") boolean includeBooks, ServletWebRequest request){
+        CategoryDto categoryDto = categoryService.getOneCategory(id, includeBooks);
+        if (catalogHttpCache.entityNotModified(request, categoryDto)) {
+            return null;
+        }
         return ApiResponse.success(null, categoryDto);
     }
 
+    @GetMapping("/{id}/books")
+    public ApiResponse<Object> getCategoryBooks(@PathVariable UUID id, @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int size, ServletWebRequest request){
+        if (catalogHttpCache.collectionNotModified(request)) {
+            return null;
+        }
+        CursorPage<BookDto> page = bookService.getBooksByCategory(id, cursor, size);
+        return ApiResponse.success(null, page.items(), page.nextCursor());
+    }
+
     @DeleteMapping("/{id}")
     public ApiResponse<CategoryDto> deleteCategory(@PathVariable UUID id){
         categoryService.deleteCategory(id);
@@ -0,0 +1,46 @@
+package com.kephas.bookstoreapi.controllers;
+
+import com.kephas.bookstoreapi.services.FlightRecorderService;
+import com.kephas.bookstoreapi.utils.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.Recording;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("api/v1/admin/recordings")
+@AllArgsConstructor
+public class RecordingController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping
+    public ResponseEntity<ApiResponse<Object>> startRecording(@RequestParam(defaultValue = "profile") String settings) {
+        String name = flightRecorderService.start(settings);
+        ApiResponse<Object> response = ApiResponse.success(201, "Recording started", name);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Stops the recording in progress and streams it as a {@code .jfr} file (open with JDK Mission Control or
+     * {@code jfr print}).
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/stop")
+    public void stopRecording(HttpServletResponse response) throws IOException {
+        Recording recording = flightRecorderService.stop();
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(recording.getName() + ".jfr").build().toString());
+        flightRecorderService.transfer(recording, response.getOutputStream());
+    }
+}
@@ -1,8 +1,8 @@
 package com.kephas.bookstoreapi.controllers;
 
+import com.kephas.bookstoreapi.dtos.AuthenticatedUser;
 import com.kephas.bookstoreapi.dtos.UserDtoRequest;
 import com.kephas.bookstoreapi.dtos.UserDtoResponse;
-import com.kephas.bookstoreapi.entities.User;
 import com.kephas.bookstoreapi.mappers.UserMapper;
 import com.kephas.bookstoreapi.services.UserService;
 import com.kephas.bookstoreapi.utils.ApiResponse;
@@ -23,19 +23,19 @@ public class UserController {
     private final UserMapper userMapper;
 
     @GetMapping("/profile")
-    public  ApiResponse<Object> profile(@AuthenticationPrincipal User user){
-        UserDtoResponse userDtoResponse = userMapper.toDto(user);
+    public  ApiResponse<Object> profile(@AuthenticationPrincipal AuthenticatedUser user){
+        UserDtoResponse userDtoResponse = userMapper.toDto(userService.getCurrent(user));
         return ApiResponse.success(null, userDtoResponse);
     }
 
     @PatchMapping("/")
-    public  ApiResponse<Object> updateDetails(@AuthenticationPrincipal User user,  @Validated(UserDtoRequest.OnUpdate.class) @RequestBody UserDtoRequest userDtoRequest ){
+    public  ApiResponse<Object> updateDetails(@AuthenticationPrincipal AuthenticatedUser user,  @Validated(UserDtoRequest.OnUpdate.class) @RequestBody UserDtoRequest userDtoRequest ){
         UserDtoResponse userDtoResponse = userMapper.toDto(userService.update(user, userDtoRequest));
         return ApiResponse.success("Details update successfully", userDtoResponse);
     }
 
     @PostMapping("/change-password")
-    public  ApiResponse<Object> changePassword(@AuthenticationPrincipal User user,  @Validated(UserDtoRequest.OnChangePassword.class) @RequestBody UserDtoRequest userDtoRequest ){
+    public  ApiResponse<Object> changePassword(@AuthenticationPrincipal AuthenticatedUser user,  @Validated(UserDtoRequest.OnChangePassword.class) @RequestBody UserDtoRequest userDtoRequest ){
         userService.changePassword(user, userDtoRequest);
         return ApiResponse.success("Password changed successfully", null);
     }
@@ -0,0 +1,47 @@
+package com.kephas.bookstoreapi.dtos;
+
+import com.kephas.bookstoreapi.entities.User;
+import com.kephas.bookstoreapi.entities.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of a {@link User} taken when the principal is cached. Every request sharing a cached entry
+ * reads the same instance, so it must never be a managed entity; anything that changes the user loads a fresh one.
+ */
+public record AuthenticatedUser(
+        UUID id,
+        String email,
+        UserRole role,
+        String passwordHash
+) implements UserDetails {
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole(), user.getPassword());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return passwordHash;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", email=" + email + ", role=" + role + "]";
+    }
+}
@@ -1,5 +1,6 @@
 package com.kephas.bookstoreapi.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import java.util.List;
 import java.util.UUID;
@@ -12,5 +13,6 @@ public record AuthorDto(
 
         String biography,
 
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         List<BookDto> books
 ) {}
@@ -0,0 +1,10 @@
+package com.kephas.bookstoreapi.dtos;
+
+import java.util.UUID;
+
+public record AuthorSummaryDto(
+        UUID id,
+        String name,
+        String biography,
+        long bookCount
+) {}
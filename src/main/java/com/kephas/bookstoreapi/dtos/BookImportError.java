@@ -0,0 +1,8 @@
+package com.kephas.bookstoreapi.dtos;
+
+public record BookImportError(
+        long row,
+        String isbn,
+        String message
+) {
+}
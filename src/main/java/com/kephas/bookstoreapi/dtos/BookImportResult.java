@@ -0,0 +1,10 @@
+package com.kephas.bookstoreapi.dtos;
+
+import java.util.List;
+
+public record BookImportResult(
+        long imported,
+        long failed,
+        List<BookImportError> errors
+) {
+}
@@ -0,0 +1,10 @@
+package com.kephas.bookstoreapi.dtos;
+
+import java.util.UUID;
+
+public record BookRef(
+        UUID id,
+        UUID authorId,
+        UUID categoryId
+) {
+}
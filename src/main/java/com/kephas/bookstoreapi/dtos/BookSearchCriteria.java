@@ -0,0 +1,22 @@
+package com.kephas.bookstoreapi.dtos;
+
+public record BookSearchCriteria(
+        String keyword,
+        String title,
+        String authorName,
+        String categoryName,
+        Integer year
+) {
+
+    public static BookSearchCriteria none() {
+        return new BookSearchCriteria(null, null, null, null, null);
+    }
+
+    public boolean isEmpty() {
+        return isBlank(keyword) && isBlank(title) && isBlank(authorName) && isBlank(categoryName) && year == null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,5 +1,6 @@
 package com.kephas.bookstoreapi.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 
 import java.util.List;
@@ -11,6 +12,7 @@ public record CategoryDto(
         @NotBlank(message = "Category name cannot be blank")
         String name,
         String description,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         List<BookDto> books
 ) {
 }
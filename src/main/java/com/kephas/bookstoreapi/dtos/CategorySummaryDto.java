@@ -0,0 +1,10 @@
+package com.kephas.bookstoreapi.dtos;
+
+import java.util.UUID;
+
+public record CategorySummaryDto(
+        UUID id,
+        String name,
+        String description,
+        long bookCount
+) {}
@@ -0,0 +1,23 @@
+package com.kephas.bookstoreapi.dtos;
+
+import java.util.List;
+
+/**
+ * One page of a keyset listing. {@code totalCapped} is set when counting stopped at the cap, so
+ * {@code approximateTotal} is a lower bound rather than the exact number of matches.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        Long approximateTotal,
+        boolean totalCapped
+) {
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+
+    public CursorPage(List<T> items, String nextCursor, Long approximateTotal) {
+        this(items, nextCursor, approximateTotal, false);
+    }
+}
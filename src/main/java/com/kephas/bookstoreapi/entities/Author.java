@@ -1,14 +1,17 @@
 package com.kephas.bookstoreapi.entities;
 
+import com.kephas.bookstoreapi.utils.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name="authors")
+@Table(name="authors", indexes = @Index(name = "idx_authors_name", columnList = "name"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,6 +21,7 @@ public class Author {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(updatable = false)
     private UUID id;
 
@@ -27,6 +31,14 @@ public class Author {
 
     private String biography="";
 
+    /**
+     * Number of books referencing this row. Only changed through the repository's {@code adjustBookCount}, never by
+     * flushing the entity, so a stale copy in the persistence context cannot overwrite a concurrent increment.
+     */
+    @ColumnDefault("0")
+    @Column(name = "book_count", nullable = false, updatable = false)
+    private long bookCount;
+
     @OneToMany(mappedBy = "author", cascade = CascadeType.PERSIST)
     private List<Book> books = new ArrayList<>();
     public Author(String name, String biography) {
@@ -1,9 +1,11 @@
 package com.kephas.bookstoreapi.entities;
 
+import com.kephas.bookstoreapi.utils.UuidV7Generator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -11,7 +13,12 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_author_id_id", columnList = "author_id, id"),
+        @Index(name = "idx_books_category_id_id", columnList = "category_id, id"),
+        @Index(name = "idx_books_publication_date_id", columnList = "publication_date, id"),
+        @Index(name = "idx_books_title_id", columnList = "title, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,6 +28,7 @@ public class Book {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Column(nullable = false)
@@ -37,11 +45,11 @@ public class Book {
 
     private String description ="";
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="author_id", nullable = false)
     private Author author;
 
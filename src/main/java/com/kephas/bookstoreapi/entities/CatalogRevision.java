@@ -0,0 +1,28 @@
+package com.kephas.bookstoreapi.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * The single row holding the catalog version, inserted by the V5 migration. Only advanced through the repository's
+ * {@code advance}, which increments it in the database so concurrent writers never hand out the same revision.
+ */
+@Entity
+@Table(name = "catalog_revision")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogRevision {
+
+    @Id
+    private short id;
+
+    @Column(nullable = false)
+    private long revision;
+
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+}
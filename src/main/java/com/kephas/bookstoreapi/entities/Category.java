@@ -1,14 +1,17 @@
 package com.kephas.bookstoreapi.entities;
 
+import com.kephas.bookstoreapi.utils.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name="categories")
+@Table(name="categories", indexes = @Index(name = "idx_categories_name", columnList = "name"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,6 +21,7 @@ public class Category {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Column(nullable = false)
@@ -26,6 +30,14 @@ public class Category {
 
     private String description="";
 
+    /**
+     * Number of books referencing this row. Only changed through the repository's {@code adjustBookCount}, never by
+     * flushing the entity, so a stale copy in the persistence context cannot overwrite a concurrent increment.
+     */
+    @ColumnDefault("0")
+    @Column(name = "book_count", nullable = false, updatable = false)
+    private long bookCount;
+
     @OneToMany(mappedBy = "category", cascade = CascadeType.PERSIST)
     private List<Book> books = new ArrayList<>();
 
@@ -0,0 +1,9 @@
+package com.kephas.bookstoreapi.events;
+
+import java.util.UUID;
+
+/**
+ * Published when an author's details change or books are moved onto it.
+ */
+public record AuthorChangedEvent(UUID authorId) {
+}
@@ -0,0 +1,6 @@
+package com.kephas.bookstoreapi.events;
+
+import java.util.UUID;
+
+public record BookChangedEvent(UUID bookId, boolean deleted) {
+}
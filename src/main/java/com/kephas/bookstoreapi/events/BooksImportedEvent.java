@@ -0,0 +1,7 @@
+package com.kephas.bookstoreapi.events;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BooksImportedEvent(List<UUID> bookIds) {
+}
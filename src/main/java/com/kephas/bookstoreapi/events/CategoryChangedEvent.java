@@ -0,0 +1,9 @@
+package com.kephas.bookstoreapi.events;
+
+import java.util.UUID;
+
+/**
+ * Published when a category's details change or books are moved onto it.
+ */
+public record CategoryChangedEvent(UUID categoryId) {
+}
@@ -0,0 +1,7 @@
+package com.kephas.bookstoreapi.exceptions;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
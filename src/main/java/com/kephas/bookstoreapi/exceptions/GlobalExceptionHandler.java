@@ -4,12 +4,15 @@ import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.kephas.bookstoreapi.utils.ApiResponse;
 import io.jsonwebtoken.MalformedJwtException;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -32,6 +35,31 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(BadRequestException.class)
+    public  ResponseEntity<ApiResponse<Object>> handleBadRequest(BadRequestException ex){
+        ApiResponse<Object> response = ApiResponse.error(400, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public  ResponseEntity<ApiResponse<Object>> handleServiceBusy(ServiceBusyException ex){
+        ApiResponse<Object> response = ApiResponse.error(503, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(response);
+    }
+
+
+    /**
+     * The database could not be reached, typically because no pooled connection became free within
+     * {@code spring.datasource.hikari.connection-timeout}.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public  ResponseEntity<ApiResponse<Object>> handleDatabaseUnavailable(Exception ex){
+        ApiResponse<Object> response = ApiResponse.error(503, "Service is busy, please retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(response);
+    }
+
+
     @ExceptionHandler(NoResourceFoundException.class)
     public  ResponseEntity<ApiResponse<Object>> handleMissingRoute(NoResourceFoundException ex){
         String errorMessage = String.format("Endpoint '%s' not found", ex.getResourcePath());
@@ -4,6 +4,8 @@ import com.kephas.bookstoreapi.dtos.AuthorDto;
 import com.kephas.bookstoreapi.dtos.BookDto;
 import com.kephas.bookstoreapi.entities.Author;
 import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.utils.jfr.DtoMappingEvent;
+import com.kephas.bookstoreapi.utils.timing.RequestTiming;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -16,23 +18,37 @@ public class AuthorMapper {
 
 
     public AuthorDto toDto(Author author){
+        return toDto(author, true);
+    }
 
-        List<BookDto> books = author.getBooks() == null ? List.of() : author.getBooks().stream().map(bookMapper::toDto).toList() ;
-        return new AuthorDto(
-                author.getId(),
-                author.getName(),
-                author.getBiography(),
-                books
-        );
+    /**
+     * With {@code includeBooks} false the books collection is not touched, so it is never loaded.
+     */
+    public AuthorDto toDto(Author author, boolean includeBooks){
+        DtoMappingEvent event = new DtoMappingEvent();
+        event.begin();
+        try (RequestTiming.Span ignored = RequestTiming.start(RequestTiming.Phase.MAP)) {
+            List<BookDto> books = !includeBooks ? null : author.getBooks() == null ? List.of() : author.getBooks().stream().map(bookMapper::toDto).toList() ;
+            AuthorDto dto = new AuthorDto(
+                    author.getId(),
+                    author.getName(),
+                    author.getBiography(),
+                    books
+            );
+            event.finish(AuthorDto.class, books == null ? 0 : books.size());
+            return dto;
+        }
     }
 
     public Author fromDto(AuthorDto authorDto){
 
         List<Book> books = authorDto.books() == null ? List.of() : authorDto.books().stream().map(bookMapper::fromDto).toList();
 
+        // book_count is only ever moved by adjustBookCount, so a new author starts at zero whatever the DTO lists.
         return new Author(authorDto.id(),
                 authorDto.name(),
                 authorDto.biography(),
+                0,
                books
         );
     }
@@ -2,6 +2,8 @@ package com.kephas.bookstoreapi.mappers;
 
 import com.kephas.bookstoreapi.dtos.BookDto;
 import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.utils.jfr.DtoMappingEvent;
+import com.kephas.bookstoreapi.utils.timing.RequestTiming;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -11,18 +13,24 @@ import org.springframework.stereotype.Component;
 public class BookMapper {
 
     public BookDto toDto(Book book){
-        return  new BookDto(
-                book.getId(),
-                book.getTitle(),
-                book.getIsbn(),
-                book.getPrice(),
-                book.getPublicationDate(),
-                book.getDescription(),
-                book.getCategory().getId(),
-                book.getCategory().getName(),
-                book.getAuthor().getId(),
-                book.getAuthor().getName()
-        );
+        DtoMappingEvent event = new DtoMappingEvent();
+        event.begin();
+        try (RequestTiming.Span ignored = RequestTiming.start(RequestTiming.Phase.MAP)) {
+            BookDto dto = new BookDto(
+                    book.getId(),
+                    book.getTitle(),
+                    book.getIsbn(),
+                    book.getPrice(),
+                    book.getPublicationDate(),
+                    book.getDescription(),
+                    book.getCategory().getId(),
+                    book.getCategory().getName(),
+                    book.getAuthor().getId(),
+                    book.getAuthor().getName()
+            );
+            event.finish(BookDto.class, 0);
+            return dto;
+        }
     }
 
     public Book fromDto(BookDto bookDto) {
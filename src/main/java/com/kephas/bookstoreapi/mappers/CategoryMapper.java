@@ -4,6 +4,8 @@ import com.kephas.bookstoreapi.dtos.BookDto;
 import com.kephas.bookstoreapi.dtos.CategoryDto;
 import com.kephas.bookstoreapi.entities.Book;
 import com.kephas.bookstoreapi.entities.Category;
+import com.kephas.bookstoreapi.utils.jfr.DtoMappingEvent;
+import com.kephas.bookstoreapi.utils.timing.RequestTiming;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -16,24 +18,38 @@ public class CategoryMapper {
     private BookMapper bookMapper;
 
     public CategoryDto toDto(Category category){
-        List<BookDto> books =  category.getBooks() == null ? List.of() : category.getBooks().stream().map(bookMapper::toDto).toList();
-
-        return new CategoryDto(
-                category.getId(),
-                category.getName(),
-                category.getDescription(),
-                books
-        );
+        return toDto(category, true);
+    }
 
+    /**
+     * With {@code includeBooks} false the books collection is not touched, so it is never loaded.
+     */
+    public CategoryDto toDto(Category category, boolean includeBooks){
+        DtoMappingEvent event = new DtoMappingEvent();
+        event.begin();
+        try (RequestTiming.Span ignored = RequestTiming.start(RequestTiming.Phase.MAP)) {
+            List<BookDto> books = !includeBooks ? null : category.getBooks() == null ? List.of() : category.getBooks().stream().map(bookMapper::toDto).toList();
+
+            CategoryDto dto = new CategoryDto(
+                    category.getId(),
+                    category.getName(),
+                    category.getDescription(),
+                    books
+            );
+            event.finish(CategoryDto.class, books == null ? 0 : books.size());
+            return dto;
+        }
     }
 
     public Category fromDto(CategoryDto categoryDto){
         List<Book> books =  categoryDto.books() == null ? List.of() : categoryDto.books().stream().map(bookMapper::fromDto).toList();
 
+        // book_count is only ever moved by adjustBookCount, so a new category starts at zero whatever the DTO lists.
         return  new Category(
                 categoryDto.id(),
                 categoryDto.name(),
                 categoryDto.description(),
+                0,
                 books
         );
     }
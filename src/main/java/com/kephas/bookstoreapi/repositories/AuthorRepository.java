@@ -1,9 +1,15 @@
 package com.kephas.bookstoreapi.repositories;
 
+import com.kephas.bookstoreapi.dtos.AuthorSummaryDto;
 import com.kephas.bookstoreapi.entities.Author;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +17,21 @@ import java.util.UUID;
 public interface AuthorRepository extends JpaRepository<Author, UUID> {
 
     Optional<Author> findAuthorByName(String unknown);
+
+    @EntityGraph(attributePaths = {"books", "books.category"})
+    Optional<Author> findWithBooksById(UUID id);
+
+    @Query("""
+            select new com.kephas.bookstoreapi.dtos.AuthorSummaryDto(a.id, a.name, a.biography, a.bookCount)
+            from Author a
+            order by a.name, a.id
+            """)
+    List<AuthorSummaryDto> findAllSummaries();
+
+    /**
+     * Applies a relative change to the denormalized book count in the database, so concurrent adjustments add up.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Author a set a.bookCount = a.bookCount + :delta where a.id = :id")
+    int adjustBookCount(@Param("id") UUID id, @Param("delta") long delta);
 }
@@ -1,15 +1,29 @@
 package com.kephas.bookstoreapi.repositories;
 
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.BookRef;
+import com.kephas.bookstoreapi.entities.Author;
 import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.entities.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificationExecutor<Book> {
+public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificationExecutor<Book>, BookRepositoryCustom {
     List<Book> findBooksByAuthor_Id(UUID id);
 
     int countBooksByAuthor_Id(UUID id);
@@ -20,5 +34,47 @@ public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificat
 
     boolean existsBookByIsbn(String isbn);
 
+    @Query("select b.isbn from Book b where b.isbn in :isbns")
+    Set<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
+    @Query("""
+            select new com.kephas.bookstoreapi.dtos.BookDto(
+                b.id, b.title, b.isbn, b.price, b.publicationDate, b.description,
+                c.id, c.name, a.id, a.name)
+            from Book b join b.category c join b.author a
+            where b.id = :id
+            """)
+    Optional<BookDto> findDtoById(@Param("id") UUID id);
+
+    /**
+     * Forward-only cursor over the whole catalog; must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.kephas.bookstoreapi.dtos.BookDto(
+                b.id, b.title, b.isbn, b.price, b.publicationDate, b.description,
+                c.id, c.name, a.id, a.name)
+            from Book b join b.category c join b.author a
+            order by b.id
+            """)
+    Stream<BookDto> streamAllDtos();
+
+    @Query("select new com.kephas.bookstoreapi.dtos.BookRef(b.id, b.author.id, b.category.id) from Book b where b.author.id = :authorId")
+    List<BookRef> findRefsByAuthorId(@Param("authorId") UUID authorId);
+
+    @Query("select new com.kephas.bookstoreapi.dtos.BookRef(b.id, b.author.id, b.category.id) from Book b where b.category.id = :categoryId")
+    List<BookRef> findRefsByCategoryId(@Param("categoryId") UUID categoryId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.author = :target where b.author.id = :authorId")
+    int reassignAuthor(@Param("authorId") UUID authorId, @Param("target") Author target);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.category = :target where b.category.id = :categoryId")
+    int reassignCategory(@Param("categoryId") UUID categoryId, @Param("target") Category target);
+
 
 }
@@ -0,0 +1,21 @@
+package com.kephas.bookstoreapi.repositories;
+
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.entities.Book;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface BookRepositoryCustom {
+
+    /**
+     * Selects matching books together with their author and category names in a single statement.
+     */
+    List<BookDto> findDtos(Specification<Book> spec, Sort sort, int limit);
+
+    /**
+     * Counts books matching the specification, stopping once {@code limit} rows have been seen.
+     */
+    long countUpTo(Specification<Book> spec, int limit);
+}
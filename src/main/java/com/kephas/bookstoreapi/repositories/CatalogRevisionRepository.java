@@ -0,0 +1,24 @@
+package com.kephas.bookstoreapi.repositories;
+
+import com.kephas.bookstoreapi.entities.CatalogRevision;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface CatalogRevisionRepository extends JpaRepository<CatalogRevision, Short> {
+
+    /**
+     * Increments the revision in the database in a transaction of its own, so the row is locked only for this
+     * statement. It also runs after the caller's transaction has committed, where joining it would never flush.
+     */
+    @Modifying
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    @Query("update CatalogRevision r set r.revision = r.revision + 1, r.lastModified = :now where r.id = :id")
+    int advance(@Param("id") short id, @Param("now") Instant now);
+}
@@ -1,9 +1,15 @@
 package com.kephas.bookstoreapi.repositories;
 
+import com.kephas.bookstoreapi.dtos.CategorySummaryDto;
 import com.kephas.bookstoreapi.entities.Category;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +17,21 @@ import java.util.UUID;
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
 
     Optional<Category> findByName(String uncategorized);
+
+    @EntityGraph(attributePaths = {"books", "books.author"})
+    Optional<Category> findWithBooksById(UUID id);
+
+    @Query("""
+            select new com.kephas.bookstoreapi.dtos.CategorySummaryDto(c.id, c.name, c.description, c.bookCount)
+            from Category c
+            order by c.name, c.id
+            """)
+    List<CategorySummaryDto> findAllSummaries();
+
+    /**
+     * Applies a relative change to the denormalized book count in the database, so concurrent adjustments add up.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Category c set c.bookCount = c.bookCount + :delta where c.id = :id")
+    int adjustBookCount(@Param("id") UUID id, @Param("delta") long delta);
 }
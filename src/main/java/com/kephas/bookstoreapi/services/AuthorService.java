@@ -1,15 +1,21 @@
 package com.kephas.bookstoreapi.services;
 
+import com.kephas.bookstoreapi.config.CacheConfig;
 import com.kephas.bookstoreapi.dtos.AuthorDto;
+import com.kephas.bookstoreapi.dtos.AuthorSummaryDto;
+import com.kephas.bookstoreapi.dtos.BookRef;
 import com.kephas.bookstoreapi.entities.Author;
-import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.events.AuthorChangedEvent;
 import com.kephas.bookstoreapi.exceptions.ResourceNotFoundException;
 import com.kephas.bookstoreapi.mappers.AuthorMapper;
 import com.kephas.bookstoreapi.repositories.AuthorRepository;
 import com.kephas.bookstoreapi.repositories.BookRepository;
+import com.kephas.bookstoreapi.utils.jfr.FlightRecorded;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,23 +23,32 @@ import java.util.UUID;
 
 @AllArgsConstructor
 @Service
+@FlightRecorded
 public class AuthorService {
 
     private final AuthorRepository authorRepository;
     private final BookRepository bookRepository;
     private final AuthorMapper authorMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogCache catalogCache;
+    private final CatalogVersion catalogVersion;
 
-    public List<Author> getAuthors(){
-        return authorRepository.findAll();
+    public List<AuthorSummaryDto> getAuthors(){
+        return authorRepository.findAllSummaries();
     }
 
-    public Author getOneAuthor(UUID id){
-        return authorRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Author with id: "+ id+ " does not exist"));
+    @Cacheable(cacheNames = CacheConfig.AUTHORS, key = "#id", condition = "#includeBooks")
+    public AuthorDto getOneAuthor(UUID id, boolean includeBooks){
+        Author author = (includeBooks ? authorRepository.findWithBooksById(id) : authorRepository.findById(id))
+                .orElseThrow( () -> new ResourceNotFoundException("Author with id: "+ id+ " does not exist"));
+        return authorMapper.toDto(author, includeBooks);
     }
 
+    @Transactional
     public void createAuthor(AuthorDto authorDto) {
         Author author = authorMapper.fromDto(authorDto);
         authorRepository.save(author);
+        catalogVersion.bump();
     }
 
     @Transactional
@@ -42,28 +57,40 @@ public class AuthorService {
             throw new ResourceNotFoundException("Author does not exist");
         }
 
-        if (bookRepository.countBooksByAuthor_Id(id) >= 1) {
-            List<Book> books = bookRepository.findBooksByAuthor_Id(id);
-            Author unknownAuthor = authorRepository.findAuthorByName("Unknown")
-                    .orElseGet(() -> {
-                        Author newAuthor = new Author(
-                                "Unknown",
-                                "Author information is currently unavailable. We're working hard to update it soon"
-                        );
-                        return authorRepository.save(newAuthor);
-                    });
-            books.forEach(book -> book.setAuthor(unknownAuthor));
-            bookRepository.saveAll(books);
+        // Reassign whatever the books table holds rather than trusting book_count, so a drifted count cannot
+        // leave books behind that would make the delete fail.
+        List<BookRef> books = bookRepository.findRefsByAuthorId(id);
+        Author unknownAuthor = authorRepository.findAuthorByName("Unknown")
+                .orElseGet(() -> {
+                    Author newAuthor = new Author(
+                            "Unknown",
+                            "Author information is currently unavailable. We're working hard to update it soon"
+                    );
+                    return authorRepository.save(newAuthor);
+                });
+        int moved = bookRepository.reassignAuthor(id, unknownAuthor);
+        if (moved > 0) {
+            authorRepository.adjustBookCount(unknownAuthor.getId(), moved);
+            books.forEach(catalogCache::evictBook);
+            catalogCache.evictAuthor(unknownAuthor.getId());
+            eventPublisher.publishEvent(new AuthorChangedEvent(unknownAuthor.getId()));
         }
 
         authorRepository.deleteById(id);
+        catalogCache.evictAuthor(id);
+        catalogVersion.bump();
     }
 
 
+    @Transactional
     public void updateAuthor(UUID id, @Valid AuthorDto data) {
         Author author = authorRepository.findById(id).orElseThrow( () -> new ResourceNotFoundException("Author with id: "+ id+ " does not exist"));
         author.setName(data.name());
         author.setBiography(data.biography());
         authorRepository.save(author);
+        catalogCache.evictAuthor(id);
+        bookRepository.findRefsByAuthorId(id).forEach(catalogCache::evictBook);
+        catalogVersion.bump();
+        eventPublisher.publishEvent(new AuthorChangedEvent(id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,265 @@
+package com.kephas.bookstoreapi.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.BookImportError;
+import com.kephas.bookstoreapi.dtos.BookImportResult;
+import com.kephas.bookstoreapi.dtos.BookRef;
+import com.kephas.bookstoreapi.entities.Author;
+import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.entities.Category;
+import com.kephas.bookstoreapi.events.BooksImportedEvent;
+import com.kephas.bookstoreapi.mappers.BookMapper;
+import com.kephas.bookstoreapi.repositories.AuthorRepository;
+import com.kephas.bookstoreapi.repositories.BookRepository;
+import com.kephas.bookstoreapi.repositories.CategoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports books from a JSON array (or NDJSON) or a CSV file with a header row, reading the input as a stream.
+ * Rows are validated one by one and inserted in batches, each batch in its own transaction: ISBNs, authors and
+ * categories are checked with one {@code IN} query per batch, and a row that fails is reported without
+ * rejecting the rest of its batch.
+ */
+@Slf4j
+@Service
+public class BookImportService {
+
+    static final int BATCH_SIZE = 500;
+
+    /**
+     * Only the first errors are listed in the result; {@link BookImportResult#failed()} still counts all of them.
+     */
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final CategoryRepository categoryRepository;
+    private final BookMapper bookMapper;
+    private final CatalogCache catalogCache;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BookImportService(BookRepository bookRepository, AuthorRepository authorRepository,
+                             CategoryRepository categoryRepository, BookMapper bookMapper, CatalogCache catalogCache,
+                             CatalogVersion catalogVersion,
+                             ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper, Validator validator,
+                             PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.categoryRepository = categoryRepository;
+        this.bookMapper = bookMapper;
+        this.catalogCache = catalogCache;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BookImportResult importJson(InputStream in) throws IOException {
+        try (MappingIterator<JsonNode> rows = objectMapper.readerFor(JsonNode.class).readValues(in)) {
+            return importRows(rows);
+        }
+    }
+
+    public BookImportResult importCsv(InputStream in) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        try (MappingIterator<JsonNode> rows = new CsvMapper().readerFor(JsonNode.class).with(schema).readValues(in)) {
+            return importRows(rows);
+        }
+    }
+
+    private BookImportResult importRows(MappingIterator<JsonNode> rows) {
+        Report report = new Report();
+        Set<String> seenIsbns = new HashSet<>();
+        List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+        long rowNumber = 0;
+
+        while (true) {
+            JsonNode node;
+            try {
+                if (!rows.hasNextValue()) {
+                    break;
+                }
+                node = rows.nextValue();
+            } catch (IOException ex) {
+                report.fail(new BookImportError(rowNumber + 1, null,
+                        "Malformed input, remaining rows were not imported: " + rootMessage(ex)));
+                break;
+            }
+            rowNumber++;
+
+            BookDto book;
+            try {
+                book = objectMapper.treeToValue(node, BookDto.class);
+            } catch (JsonProcessingException | IllegalArgumentException ex) {
+                report.fail(new BookImportError(rowNumber, node.path("isbn").asText(null), "Invalid row: " + rootMessage(ex)));
+                continue;
+            }
+
+            ImportRow row = new ImportRow(rowNumber, book);
+            Set<ConstraintViolation<BookDto>> violations = validator.validate(book);
+            if (!violations.isEmpty()) {
+                report.fail(row.error(violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "))));
+                continue;
+            }
+            if (!seenIsbns.add(book.isbn())) {
+                report.fail(row.error("Duplicate isbn in import"));
+                continue;
+            }
+
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                flush(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, report);
+        }
+
+        log.info("Book import finished: {} imported, {} failed", report.imported, report.failed);
+        return new BookImportResult(report.imported, report.failed, report.errors);
+    }
+
+    /**
+     * Inserts a batch in one transaction. If the database still rejects it (e.g. an ISBN inserted concurrently),
+     * the rows are retried one transaction each so only the offending rows fail.
+     */
+    private void flush(List<ImportRow> batch, Report report) {
+        try {
+            report.add(transactionTemplate.execute(status -> insert(batch)));
+        } catch (DataAccessException ex) {
+            log.warn("Batch insert failed, retrying {} rows individually: {}", batch.size(), rootMessage(ex));
+            for (ImportRow row : batch) {
+                try {
+                    report.add(transactionTemplate.execute(status -> insert(List.of(row))));
+                } catch (DataAccessException rowEx) {
+                    report.fail(row.error("Could not be saved: " + rootMessage(rowEx)));
+                }
+            }
+        }
+    }
+
+    private BatchOutcome insert(List<ImportRow> rows) {
+        Set<String> existingIsbns = bookRepository.findExistingIsbns(rows.stream().map(row -> row.book().isbn()).toList());
+        Map<UUID, Author> authors = byId(authorRepository.findAllById(rows.stream().map(row -> row.book().authorId()).collect(Collectors.toSet())), Author::getId);
+        Map<UUID, Category> categories = byId(categoryRepository.findAllById(rows.stream().map(row -> row.book().categoryId()).collect(Collectors.toSet())), Category::getId);
+
+        List<BookImportError> errors = new ArrayList<>();
+        List<Book> books = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            BookDto dto = row.book();
+            Author author = authors.get(dto.authorId());
+            Category category = categories.get(dto.categoryId());
+
+            if (existingIsbns.contains(dto.isbn())) {
+                errors.add(row.error("Book with isbn already exists"));
+            } else if (author == null) {
+                errors.add(row.error("Author does not exist"));
+            } else if (category == null) {
+                errors.add(row.error("Category does not exist"));
+            } else {
+                Book book = bookMapper.fromDto(dto);
+                book.setId(null);
+                book.setAuthor(author);
+                book.setCategory(category);
+                books.add(book);
+            }
+        }
+
+        bookRepository.saveAll(books);
+        bookRepository.flush();
+        entityManager.clear();
+        countBy(books, book -> book.getAuthor().getId()).forEach(authorRepository::adjustBookCount);
+        countBy(books, book -> book.getCategory().getId()).forEach(categoryRepository::adjustBookCount);
+
+        books.forEach(book -> catalogCache.evictBook(new BookRef(book.getId(), book.getAuthor().getId(), book.getCategory().getId())));
+        if (!books.isEmpty()) {
+            catalogVersion.bump();
+            eventPublisher.publishEvent(new BooksImportedEvent(books.stream().map(Book::getId).toList()));
+        }
+        return new BatchOutcome(books.size(), errors);
+    }
+
+    private static Map<UUID, Long> countBy(List<Book> books, Function<Book, UUID> owner) {
+        // Sorted so concurrent writers update the owner rows in the same order.
+        return books.stream().collect(Collectors.groupingBy(owner, TreeMap::new, Collectors.counting()));
+    }
+
+    private static <T> Map<UUID, T> byId(List<T> entities, Function<T, UUID> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    private static String rootMessage(Exception ex) {
+        Throwable root = NestedExceptionUtils.getMostSpecificCause(ex);
+        if (root instanceof JsonProcessingException json) {
+            return json.getOriginalMessage();
+        }
+        return root.getMessage();
+    }
+
+    private record ImportRow(long number, BookDto book) {
+        BookImportError error(String message) {
+            return new BookImportError(number, book.isbn(), message);
+        }
+    }
+
+    private record BatchOutcome(int imported, List<BookImportError> errors) {
+    }
+
+    private static final class Report {
+        private long imported;
+        private long failed;
+        private final List<BookImportError> errors = new ArrayList<>();
+
+        void add(BatchOutcome outcome) {
+            imported += outcome.imported();
+            outcome.errors().forEach(this::fail);
+        }
+
+        void fail(BookImportError error) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+}
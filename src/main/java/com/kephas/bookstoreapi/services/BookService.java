@@ -1,40 +1,92 @@
 package com.kephas.bookstoreapi.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kephas.bookstoreapi.config.CacheConfig;
 import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.BookRef;
+import com.kephas.bookstoreapi.dtos.BookSearchCriteria;
+import com.kephas.bookstoreapi.dtos.CursorPage;
 import com.kephas.bookstoreapi.entities.Author;
 import com.kephas.bookstoreapi.entities.Book;
 import com.kephas.bookstoreapi.entities.Category;
+import com.kephas.bookstoreapi.events.BookChangedEvent;
+import com.kephas.bookstoreapi.exceptions.BadRequestException;
 import com.kephas.bookstoreapi.exceptions.ResourceNotFoundException;
 import com.kephas.bookstoreapi.exceptions.UniqueConstraintViolationException;
 import com.kephas.bookstoreapi.mappers.BookMapper;
 import com.kephas.bookstoreapi.repositories.AuthorRepository;
 import com.kephas.bookstoreapi.repositories.BookRepository;
 import com.kephas.bookstoreapi.repositories.CategoryRepository;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
+import com.kephas.bookstoreapi.services.search.BookSearchEngine;
+import com.kephas.bookstoreapi.utils.BookCursor;
+import com.kephas.bookstoreapi.utils.BookExportFormat;
+import com.kephas.bookstoreapi.utils.BookSort;
+import com.kephas.bookstoreapi.utils.jfr.FlightRecorded;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 @Service
+@FlightRecorded
 public class BookService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Totals are only counted up to this many rows; anything larger is reported as the cap.
+     */
+    private static final int TOTAL_COUNT_CAP = 1000;
+
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
     private final AuthorRepository authorRepository;
     private final CategoryRepository categoryRepository;
+    private final BookSearchEngine bookSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogCache catalogCache;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
 
 
-    public List<Book> getBooks() {
-        return bookRepository.findAll();
+    public CursorPage<BookDto> getBooks(String cursor, int size) {
+        return searchBooks(BookSearchCriteria.none(), BookSort.TITLE, Sort.Direction.ASC, cursor, size, false);
+    }
+
+    /**
+     * Books of one author in id order, read with a keyset on {@code (author_id, id)}.
+     */
+    public CursorPage<BookDto> getBooksByAuthor(UUID authorId, String cursor, int size) {
+        if (!authorRepository.existsById(authorId)) {
+            throw new ResourceNotFoundException("Author with id: " + authorId + " does not exist");
+        }
+        return booksInIdOrder((root, query, cb) -> cb.equal(root.get("author").get("id"), authorId), cursor, size);
+    }
+
+    /**
+     * Books of one category in id order, read with a keyset on {@code (category_id, id)}.
+     */
+    public CursorPage<BookDto> getBooksByCategory(UUID categoryId, String cursor, int size) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category with id: " + categoryId + " does not exist");
+        }
+        return booksInIdOrder((root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId), cursor, size);
     }
 
     @Transactional
@@ -51,16 +103,31 @@ public class BookService {
         book.setAuthor(author);
         book.setCategory(category);
         bookRepository.save(book);
+        authorRepository.adjustBookCount(author.getId(), 1);
+        categoryRepository.adjustBookCount(category.getId(), 1);
+        catalogCache.evictBook(new BookRef(book.getId(), author.getId(), category.getId()));
+        catalogVersion.bump();
+        eventPublisher.publishEvent(new BookChangedEvent(book.getId(), false));
     }
 
 
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id")
     public BookDto getBook(UUID id) {
-        Book book = bookRepository.findById(id).orElseThrow( ()-> new ResourceNotFoundException("Book by id: " + id+ " does not exist"));
-        return bookMapper.toDto(book);
+        return bookRepository.findDtoById(id).orElseThrow( ()-> new ResourceNotFoundException("Book by id: " + id+ " does not exist"));
     }
 
+    @Transactional
     public void deleteBook(UUID id) {
-        bookRepository.deleteById(id);
+        Book book = bookRepository.findById(id).orElse(null);
+        if (book == null) {
+            return;
+        }
+        bookRepository.delete(book);
+        authorRepository.adjustBookCount(book.getAuthor().getId(), -1);
+        categoryRepository.adjustBookCount(book.getCategory().getId(), -1);
+        catalogCache.evictBook(new BookRef(id, book.getAuthor().getId(), book.getCategory().getId()));
+        catalogVersion.bump();
+        eventPublisher.publishEvent(new BookChangedEvent(id, true));
     }
 
 
@@ -69,6 +136,9 @@ public class BookService {
         Book book = bookRepository.findById(id).orElseThrow( ()-> new ResourceNotFoundException("Book by id: " + id+ " does not exist"));
         Author author = authorRepository.findById(bookDto.authorId()).orElseThrow( ()-> new ResourceNotFoundException("Author does not exist"));
         Category category = categoryRepository.findById(bookDto.categoryId()).orElseThrow( ()-> new ResourceNotFoundException("Category does not exist"));
+        UUID previousAuthorId = book.getAuthor().getId();
+        UUID previousCategoryId = book.getCategory().getId();
+        catalogCache.evictBook(new BookRef(id, previousAuthorId, previousCategoryId));
 
         book.setTitle(bookDto.title());
         book.setIsbn(bookDto.isbn());
@@ -78,49 +148,104 @@ public class BookService {
         book.setAuthor(author);
         book.setCategory(category);
         bookRepository.save(book);
+        if (!Objects.equals(previousAuthorId, author.getId())) {
+            moveBookCount(previousAuthorId, author.getId(), authorRepository::adjustBookCount);
+        }
+        if (!Objects.equals(previousCategoryId, category.getId())) {
+            moveBookCount(previousCategoryId, category.getId(), categoryRepository::adjustBookCount);
+        }
+        catalogCache.evictBook(new BookRef(id, author.getId(), category.getId()));
+        catalogVersion.bump();
+        eventPublisher.publishEvent(new BookChangedEvent(id, false));
     }
 
 
-    public List<Book> searchBooks(String title, String authorName, String categoryName, Integer year) {
-
-        if (title == null && authorName == null && categoryName ==null && year == null){
-            return bookRepository.findAll();
+    /**
+     * Writes the whole catalog to {@code out} row by row, so memory use does not grow with the catalog.
+     */
+    @Transactional
+    public void exportBooks(BookExportFormat format, OutputStream out) throws IOException {
+        try (Stream<BookDto> books = bookRepository.streamAllDtos();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            if (format == BookExportFormat.JSON) {
+                generator.writeStartArray();
+            }
+            for (Iterator<BookDto> it = books.iterator(); it.hasNext(); ) {
+                generator.writeObject(it.next());
+                if (format == BookExportFormat.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+            }
+            if (format == BookExportFormat.JSON) {
+                generator.writeEndArray();
+            }
         }
+    }
 
-        Specification<Book> spec = Specification.allOf();
 
-        if (title != null && !title.isBlank()) {
-            spec = spec.and((root, query, cb) ->
-                    cb.like(cb.lower(root.get("title")), "%" + title.toLowerCase() + "%"));
-        }
+    public CursorPage<BookDto> searchBooks(BookSearchCriteria criteria, BookSort sort, Sort.Direction direction,
+                                        String cursor, int size, boolean includeTotal) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
 
-        if (authorName != null && !authorName.isBlank()) {
-            spec = spec.and((root, query, cb) -> {
-                Join<Object, Object> author = root.join("author", JoinType.LEFT);
-                return cb.like(cb.lower(author.get("name")), "%" + authorName.toLowerCase() + "%");
-            });
-        }
+        BookCursor position = decodeCursor(cursor, sort, direction);
+        List<BookDto> books = bookSearchEngine.search(criteria, sort, direction, position, limit + 1);
+        // One past the cap tells an exact total of TOTAL_COUNT_CAP apart from a count that stopped there.
+        Long counted = includeTotal ? bookSearchEngine.countUpTo(criteria, TOTAL_COUNT_CAP + 1) : null;
+        Long total = counted != null ? Math.min(counted, TOTAL_COUNT_CAP) : null;
+        boolean capped = counted != null && counted > TOTAL_COUNT_CAP;
 
-        if (categoryName != null && !categoryName.isBlank()) {
-            spec = spec.and((root, query, cb) -> {
-                Join<Object, Object> category = root.join("category", JoinType.LEFT);
-                return cb.like(cb.lower(category.get("name")), "%" + categoryName.toLowerCase() + "%");
-            });
+        if (books.size() <= limit) {
+            return new CursorPage<>(books, null, total, capped);
         }
 
+        BookDto last = books.get(limit - 1);
+        return new CursorPage<>(books.subList(0, limit), BookCursor.of(sort, direction, last).encode(), total, capped);
+    }
 
-        if (year != null) {
-            LocalDate start = LocalDate.of(year, 1, 1);
-            LocalDate end = LocalDate.of(year, 12, 31);
+    private CursorPage<BookDto> booksInIdOrder(Specification<Book> owner, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
 
-            spec = spec.and((root, query, cb) ->
-                    cb.between(root.get("publicationDate"), start, end));
+        Specification<Book> spec = owner;
+        BookCursor position = decodeCursor(cursor, BookSort.ID, Sort.Direction.ASC);
+        if (position != null) {
+            UUID after = position.id();
+            spec = spec.and((root, query, cb) -> cb.greaterThan(root.get("id"), after));
         }
 
+        List<BookDto> books = bookRepository.findDtos(spec, Sort.by("id"), limit + 1);
+        if (books.size() <= limit) {
+            return new CursorPage<>(books, null);
+        }
+        BookDto last = books.get(limit - 1);
+        return new CursorPage<>(books.subList(0, limit), BookCursor.of(BookSort.ID, Sort.Direction.ASC, last).encode());
+    }
 
+    private static BookCursor decodeCursor(String cursor, BookSort sort, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        BookCursor position = BookCursor.decode(cursor);
+        if (position.sort() != sort || position.direction() != direction) {
+            throw new BadRequestException("Cursor does not match the requested sort");
+        }
+        return position;
+    }
 
-
-        return bookRepository.findAll(spec);
+    /**
+     * Moves one book from {@code from}'s count to {@code to}'s. The lower id is updated first, so two updates
+     * moving books in opposite directions lock the rows in the same order and cannot deadlock.
+     */
+    private static void moveBookCount(UUID from, UUID to, BiConsumer<UUID, Long> adjustBookCount) {
+        if (from.compareTo(to) < 0) {
+            adjustBookCount.accept(from, -1L);
+            adjustBookCount.accept(to, 1L);
+        } else {
+            adjustBookCount.accept(to, 1L);
+            adjustBookCount.accept(from, -1L);
+        }
     }
 
 }
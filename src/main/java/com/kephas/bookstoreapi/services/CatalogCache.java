@@ -0,0 +1,42 @@
+package com.kephas.bookstoreapi.services;
+
+import com.kephas.bookstoreapi.config.CacheConfig;
+import com.kephas.bookstoreapi.dtos.BookRef;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Evicts cached catalog lookups. Author and category entries embed their books, and book entries embed
+ * author and category names, so a change to one entity is evicted from every entry that shows it.
+ */
+@Component
+@AllArgsConstructor
+public class CatalogCache {
+
+    private final CacheManager cacheManager;
+
+    public void evictBook(BookRef book) {
+        evict(CacheConfig.BOOKS, book.id());
+        evictAuthor(book.authorId());
+        evictCategory(book.categoryId());
+    }
+
+    public void evictAuthor(UUID id) {
+        evict(CacheConfig.AUTHORS, id);
+    }
+
+    public void evictCategory(UUID id) {
+        evict(CacheConfig.CATEGORIES, id);
+    }
+
+    private void evict(String cacheName, UUID id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && id != null) {
+            cache.evict(id);
+        }
+    }
+}
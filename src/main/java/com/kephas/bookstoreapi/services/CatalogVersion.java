@@ -0,0 +1,68 @@
+package com.kephas.bookstoreapi.services;
+
+import com.kephas.bookstoreapi.repositories.CatalogRevisionRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+/**
+ * Version of the catalog as a whole, bumped by every write to books, authors or categories. Collection endpoints
+ * use it as their validator, so a client already holding the current version is answered with a primary-key read
+ * instead of the listing query. The version lives in the {@code catalog_revision} row, so it is shared by all
+ * instances and survives restarts; writers that bypass the application must advance that row too.
+ * <p>
+ * The row is advanced after the write commits rather than inside it, so concurrent writers on any instance only
+ * contend for the short update itself instead of queueing behind each other's transactions. A reader can briefly
+ * see the new data under the old version, which only costs it one extra full response. The reverse cannot happen.
+ * If the process dies between the commit and the update, the version stays behind until the next write.
+ */
+@Component
+@AllArgsConstructor
+public class CatalogVersion {
+
+    static final short ID = 1;
+
+    private final CatalogRevisionRepository catalogRevisionRepository;
+
+    public Snapshot current() {
+        return catalogRevisionRepository.findById(ID)
+                .map(row -> new Snapshot(row.getRevision(), row.getLastModified()))
+                .orElse(Snapshot.INITIAL);
+    }
+
+    /**
+     * Advances the version once the surrounding transaction commits, or right away when there is none. A rolled
+     * back write leaves it unchanged.
+     */
+    public void bump() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advance();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                advance();
+            }
+        });
+    }
+
+    private void advance() {
+        catalogRevisionRepository.advance(ID, Instant.now());
+    }
+
+    public record Snapshot(long version, Instant lastModified) {
+
+        static final Snapshot INITIAL = new Snapshot(0, Instant.EPOCH);
+
+        /**
+         * Includes the time of the change so a version number reused after the table is recreated does not match.
+         */
+        public String etag() {
+            return "\"" + version + "-" + Long.toString(lastModified.toEpochMilli(), 36) + "\"";
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.kephas.bookstoreapi.services;
 
+import com.kephas.bookstoreapi.config.CacheConfig;
+import com.kephas.bookstoreapi.dtos.BookRef;
 import com.kephas.bookstoreapi.dtos.CategoryDto;
-import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.dtos.CategorySummaryDto;
 import com.kephas.bookstoreapi.entities.Category;
+import com.kephas.bookstoreapi.events.CategoryChangedEvent;
 import com.kephas.bookstoreapi.exceptions.ResourceNotFoundException;
 import com.kephas.bookstoreapi.mappers.CategoryMapper;
 import com.kephas.bookstoreapi.repositories.BookRepository;
 import com.kephas.bookstoreapi.repositories.CategoryRepository;
+import com.kephas.bookstoreapi.utils.jfr.FlightRecorded;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -18,23 +24,31 @@ import java.util.UUID;
 
 @AllArgsConstructor
 @Service
+@FlightRecorded
 public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final BookRepository bookRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogCache catalogCache;
+    private final CatalogVersion catalogVersion;
 
-    public CategoryDto getOneCategory(UUID id){
-        Category category = categoryRepository.findById(id).orElseThrow( ()-> new ResourceNotFoundException("Category with id: "+id+" does not exist"));
-        return categoryMapper.toDto(category);
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id", condition = "#includeBooks")
+    public CategoryDto getOneCategory(UUID id, boolean includeBooks){
+        Category category = (includeBooks ? categoryRepository.findWithBooksById(id) : categoryRepository.findById(id))
+                .orElseThrow( ()-> new ResourceNotFoundException("Category with id: "+id+" does not exist"));
+        return categoryMapper.toDto(category, includeBooks);
     }
 
-    public List<Category> getCategories() {
-        return categoryRepository.findAll();
+    public List<CategorySummaryDto> getCategories() {
+        return categoryRepository.findAllSummaries();
     }
 
+    @Transactional
     public void createCategory(CategoryDto categoryDto) {
         Category category =  categoryMapper.fromDto(categoryDto);
         categoryRepository.save(category);
+        catalogVersion.bump();
     }
 
     @Transactional
@@ -43,29 +57,40 @@ public class CategoryService {
             throw new ResourceNotFoundException("Category does not exist");
         }
 
-        if (bookRepository.countBooksByCategory_Id(id) >= 1) {
-            List<Book> books = bookRepository.findBooksByCategory_Id(id);
-
-            Category uncategorized = categoryRepository.findByName("Uncategorized")
-                    .orElseGet(() -> {
-                        Category newCategory = new Category(
-                                "Uncategorized",
-                                "This category is used for books without a defined category."
-                        );
-                        return categoryRepository.save(newCategory);
-                    });
-            books.forEach(book -> book.setCategory(uncategorized));
-            bookRepository.saveAll(books);
+        // Reassign whatever the books table holds rather than trusting book_count, so a drifted count cannot
+        // leave books behind that would make the delete fail.
+        List<BookRef> books = bookRepository.findRefsByCategoryId(id);
+        Category uncategorized = categoryRepository.findByName("Uncategorized")
+                .orElseGet(() -> {
+                    Category newCategory = new Category(
+                            "Uncategorized",
+                            "This category is used for books without a defined category."
+                    );
+                    return categoryRepository.save(newCategory);
+                });
+        int moved = bookRepository.reassignCategory(id, uncategorized);
+        if (moved > 0) {
+            categoryRepository.adjustBookCount(uncategorized.getId(), moved);
+            books.forEach(catalogCache::evictBook);
+            catalogCache.evictCategory(uncategorized.getId());
+            eventPublisher.publishEvent(new CategoryChangedEvent(uncategorized.getId()));
         }
 
         categoryRepository.deleteById(id);
+        catalogCache.evictCategory(id);
+        catalogVersion.bump();
     }
 
 
+    @Transactional
     public void updateCategory(UUID id, CategoryDto data) {
         Category category = categoryRepository.findById(id).orElseThrow( ()-> new ResourceNotFoundException("Category with id: "+id+" does not exist"));
         category.setName(data.name());
         category.setDescription(data.description());
         categoryRepository.save(category);
+        catalogCache.evictCategory(id);
+        bookRepository.findRefsByCategoryId(id).forEach(catalogCache::evictBook);
+        catalogVersion.bump();
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 }
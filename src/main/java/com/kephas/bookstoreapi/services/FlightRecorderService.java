@@ -0,0 +1,105 @@
+package com.kephas.bookstoreapi.services;
+
+import com.kephas.bookstoreapi.exceptions.BadRequestException;
+import com.kephas.bookstoreapi.exceptions.ResourceNotFoundException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * Runs at most one JDK Flight Recorder recording on this node at a time. A recording stops by itself after
+ * {@code bookstore.jfr.max-duration} and keeps at most {@code bookstore.jfr.max-size} on disk, so one that is
+ * never collected cannot grow without bound.
+ */
+@Slf4j
+@Service
+public class FlightRecorderService {
+
+    /**
+     * The settings shipped with the JDK: {@code default} (about 1% overhead) and {@code profile} (about 2%, with
+     * method sampling and allocation profiling).
+     */
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    private Recording active;
+
+    public FlightRecorderService(@Value("${bookstore.jfr.max-duration:10m}") Duration maxDuration,
+                                 @Value("${bookstore.jfr.max-size:250MB}") DataSize maxSize) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the name of the recording, also used as the file name when it is collected
+     */
+    public synchronized String start(String settings) {
+        if (!SETTINGS.contains(settings)) {
+            throw new BadRequestException("Unknown recording settings: " + settings + ", expected one of " + SETTINGS);
+        }
+        if (active != null) {
+            throw new BadRequestException("A recording is already in progress: " + active.getName());
+        }
+
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("Could not load recording settings " + settings, ex);
+        }
+        recording.setName("bookstore-" + LocalDateTime.now().format(NAME_FORMAT));
+        recording.setToDisk(true);
+        recording.setDuration(maxDuration);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        active = recording;
+
+        log.info("Started flight recording {} with {} settings", recording.getName(), settings);
+        return recording.getName();
+    }
+
+    /**
+     * Stops the recording in progress (if it has not stopped by itself) and hands it over; the caller collects it
+     * with {@link #transfer(Recording, OutputStream)}.
+     */
+    public synchronized Recording stop() {
+        if (active == null) {
+            throw new ResourceNotFoundException("No recording in progress");
+        }
+        Recording recording = active;
+        active = null;
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        log.info("Stopped flight recording {}", recording.getName());
+        return recording;
+    }
+
+    /**
+     * Writes the recording as a {@code .jfr} file and releases it.
+     */
+    public void transfer(Recording recording, OutputStream out) throws IOException {
+        try (recording; InputStream in = recording.getStream(null, null)) {
+            if (in != null) {
+                in.transferTo(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.kephas.bookstoreapi.services;
+
+import com.kephas.bookstoreapi.config.CacheConfig;
+import com.kephas.bookstoreapi.dtos.AuthenticatedUser;
+import com.kephas.bookstoreapi.repositories.UserRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Short-lived cache of authenticated users keyed by email (the JWT subject), so authenticated requests do not
+ * read the users table every time. Unknown emails are not cached, so a new sign-up is visible immediately.
+ * Entries are immutable {@link AuthenticatedUser} snapshots, since concurrent requests share them.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache cache;
+
+    public PrincipalCache(UserRepository userRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.cache = cacheManager.getCache(CacheConfig.PRINCIPALS);
+    }
+
+    public Optional<AuthenticatedUser> get(String email) {
+        AuthenticatedUser cached = cache.get(email, AuthenticatedUser.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<AuthenticatedUser> user = userRepository.findByEmail(email).map(AuthenticatedUser::of);
+        user.ifPresent(found -> cache.put(email, found));
+        return user;
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.evict(email);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.kephas.bookstoreapi.services;
 
+import com.kephas.bookstoreapi.dtos.AuthenticatedUser;
 import com.kephas.bookstoreapi.dtos.UserDtoRequest;
 import com.kephas.bookstoreapi.entities.User;
 import com.kephas.bookstoreapi.entities.UserRole;
@@ -19,26 +20,42 @@ public class UserService {
     private final UserRepository userRepository;
     private final AuthenticationManager authenticationManager;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final JwtService jwtService;
 
 
-    public User update(User user, UserDtoRequest userDtoRequest) {
+    /**
+     * Loads the signed-in user's row. The principal is a cached snapshot shared between requests, so anything
+     * that reads more than it holds, or changes the user, starts from here.
+     */
+    public User getCurrent(AuthenticatedUser principal) {
+        return userRepository.findById(principal.id()).orElseThrow(() -> new ResourceNotFoundException("User does not exist"));
+    }
+
+    public User update(AuthenticatedUser principal, UserDtoRequest userDtoRequest) {
+        User user = getCurrent(principal);
+        principalCache.evict(user.getEmail());
         user.setEmail(userDtoRequest.email());
         user.setName(userDtoRequest.name());
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
 
         return user;
     }
 
-    public void changePassword(User user, UserDtoRequest userDtoRequest) {
+    public void changePassword(AuthenticatedUser principal, UserDtoRequest userDtoRequest) {
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
-                        user.getEmail(),
+                        principal.email(),
                         userDtoRequest.password()
                 )
         );
 
+        User user = getCurrent(principal);
         user.setPassword(passwordEncoder.encode(userDtoRequest.newPassword()));
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
+        jwtService.revokeAll(user.getEmail());
     }
 
     public String makeAdmin(UUID id) {
@@ -51,6 +68,7 @@ public class UserService {
 
         user.setRole(UserRole.ADMIN);
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
         return user.getName()+ " is now an admin";
     }
 
@@ -63,6 +81,7 @@ public class UserService {
 
         user.setRole(UserRole.USER);
         userRepository.save(user);
+        principalCache.evict(user.getEmail());
         return user.getName()+ " is no longer an admin";
     }
 }
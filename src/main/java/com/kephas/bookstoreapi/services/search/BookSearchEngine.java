@@ -0,0 +1,25 @@
+package com.kephas.bookstoreapi.services.search;
+
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.BookSearchCriteria;
+import com.kephas.bookstoreapi.utils.BookCursor;
+import com.kephas.bookstoreapi.utils.BookSort;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/**
+ * Backend answering catalog searches, selected with {@code bookstore.search.engine}.
+ */
+public interface BookSearchEngine {
+
+    /**
+     * Returns up to {@code limit} matching books ordered by the sort key and id, starting after {@code after} when given.
+     */
+    List<BookDto> search(BookSearchCriteria criteria, BookSort sort, Sort.Direction direction, BookCursor after, int limit);
+
+    /**
+     * Counts matching books, stopping once {@code limit} matches have been seen.
+     */
+    long countUpTo(BookSearchCriteria criteria, int limit);
+}
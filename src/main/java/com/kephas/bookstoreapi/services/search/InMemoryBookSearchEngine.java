@@ -0,0 +1,526 @@
+package com.kephas.bookstoreapi.services.search;
+
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.BookSearchCriteria;
+import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.events.AuthorChangedEvent;
+import com.kephas.bookstoreapi.events.BookChangedEvent;
+import com.kephas.bookstoreapi.events.BooksImportedEvent;
+import com.kephas.bookstoreapi.events.CategoryChangedEvent;
+import com.kephas.bookstoreapi.repositories.BookRepository;
+import com.kephas.bookstoreapi.utils.BookCursor;
+import com.kephas.bookstoreapi.utils.BookSort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Answers searches from a trigram inverted index held in memory, so no query reaches the database.
+ * Posting lists are sorted int arrays of document ids; candidates are verified against the stored
+ * text, which keeps results identical to the case-insensitive substring match of the SQL engines.
+ * Documents are also kept ordered by each {@link BookSort}, so a listing without a text filter seeks to the
+ * cursor and reads one page instead of scanning the whole catalog.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bookstore.search.engine", havingValue = "memory")
+public class InMemoryBookSearchEngine implements BookSearchEngine {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int GRAM = 3;
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    /**
+     * Changes applied while a rebuild is running, in order; they are replayed onto the new index before it
+     * replaces the old one, since the rebuild may have read those books before they changed. Null when no
+     * rebuild is running. Guarded by the write lock.
+     */
+    private List<Consumer<Index>> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = new Index();
+        try {
+            forEachBatch(Specification.allOf(), batch -> batch.forEach(fresh::add));
+
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach(change -> change.accept(fresh));
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Built in-memory book search index with {} books", fresh.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.deleted()) {
+            remove(event.bookId());
+            return;
+        }
+        bookRepository.findDtoById(event.bookId())
+                .ifPresentOrElse(this::index, () -> remove(event.bookId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksImported(BooksImportedEvent event) {
+        reindex((root, query, cb) -> root.get("id").in(event.bookIds()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        reindex((root, query, cb) -> cb.equal(root.get("author").get("id"), event.authorId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        reindex((root, query, cb) -> cb.equal(root.get("category").get("id"), event.categoryId()));
+    }
+
+    public void index(BookDto book) {
+        apply(index -> index.add(book));
+    }
+
+    public void remove(UUID bookId) {
+        apply(index -> index.remove(bookId));
+    }
+
+    @Override
+    public List<BookDto> search(BookSearchCriteria criteria, BookSort sort, Sort.Direction direction, BookCursor after, int limit) {
+        Comparator<BookDto> order = Comparator.comparing(sort::keyOf).thenComparing(BookDto::id);
+        if (direction.isDescending()) {
+            order = order.reversed();
+        }
+        Comparator<BookDto> ordering = order;
+        Query query = new Query(criteria);
+
+        PriorityQueue<BookDto> top = new PriorityQueue<>(limit + 1, ordering.reversed());
+        lock.readLock().lock();
+        try {
+            int[] candidates = index.candidates(query);
+            // Without a text filter there is no candidate list to rank; read the page off the sort order.
+            if (candidates == null) {
+                List<BookDto> page = new ArrayList<>(limit);
+                index.forEachInOrder(sort, direction, after, query, book -> {
+                    page.add(book);
+                    return page.size() < limit;
+                });
+                return page;
+            }
+            index.forEachCandidate(candidates, query, book -> {
+                if (after != null && compareToCursor(sort, direction, book, after) <= 0) {
+                    return true;
+                }
+                top.add(book);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+                return true;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<BookDto> books = new ArrayList<>(top);
+        books.sort(ordering);
+        return books;
+    }
+
+    @Override
+    public long countUpTo(BookSearchCriteria criteria, int limit) {
+        long[] count = {0};
+        lock.readLock().lock();
+        try {
+            index.forEachMatch(new Query(criteria), book -> ++count[0] < limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count[0];
+    }
+
+    private void reindex(Specification<Book> spec) {
+        forEachBatch(spec, batch -> apply(index -> batch.forEach(index::add)));
+    }
+
+    /**
+     * Reads the matching books in id order, {@value #REBUILD_BATCH_SIZE} at a time.
+     */
+    private void forEachBatch(Specification<Book> spec, Consumer<List<BookDto>> consumer) {
+        List<BookDto> batch;
+        UUID last = null;
+        do {
+            batch = bookRepository.findDtos(spec.and(after(last)), Sort.by("id"), REBUILD_BATCH_SIZE);
+            consumer.accept(batch);
+            last = batch.isEmpty() ? last : batch.get(batch.size() - 1).id();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+    }
+
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Specification<Book> after(UUID id) {
+        return id == null
+                ? Specification.allOf()
+                : (root, query, cb) -> cb.greaterThan(root.<UUID>get("id"), id);
+    }
+
+    private static int compareToCursor(BookSort sort, Sort.Direction direction, BookDto book, BookCursor cursor) {
+        int result = sort.keyOf(book).compareTo(cursor.key());
+        if (result == 0) {
+            result = book.id().compareTo(cursor.id());
+        }
+        return direction.isAscending() ? result : -result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private enum Field {
+        TITLE(BookDto::title),
+        DESCRIPTION(BookDto::description),
+        AUTHOR(BookDto::authorName),
+        CATEGORY(BookDto::categoryName);
+
+        private final Function<BookDto, String> extractor;
+
+        Field(Function<BookDto, String> extractor) {
+            this.extractor = extractor;
+        }
+    }
+
+    private record Document(BookDto book, String[] text) {
+
+        boolean contains(Field field, String needle) {
+            return text[field.ordinal()].contains(needle);
+        }
+    }
+
+    private record Query(String keyword, String title, String authorName, String categoryName, Integer year) {
+
+        Query(BookSearchCriteria criteria) {
+            this(needle(criteria.keyword()), needle(criteria.title()), needle(criteria.authorName()),
+                    needle(criteria.categoryName()), criteria.year());
+        }
+
+        private static String needle(String value) {
+            return value == null || value.isBlank() ? null : value.toLowerCase(Locale.ROOT);
+        }
+
+        boolean matches(Document document) {
+            if (keyword != null && Arrays.stream(Field.values()).noneMatch(field -> document.contains(field, keyword))) {
+                return false;
+            }
+            if (title != null && !document.contains(Field.TITLE, title)) {
+                return false;
+            }
+            if (authorName != null && !document.contains(Field.AUTHOR, authorName)) {
+                return false;
+            }
+            if (categoryName != null && !document.contains(Field.CATEGORY, categoryName)) {
+                return false;
+            }
+            return year == null || document.book().publicationDate().getYear() == year;
+        }
+    }
+
+    /**
+     * Position of a document in one sort order: the sort key, then the id, as in {@link BookCursor}.
+     */
+    private record SortKey(String key, UUID id) implements Comparable<SortKey> {
+
+        @Override
+        public int compareTo(SortKey other) {
+            int result = key.compareTo(other.key);
+            return result != 0 ? result : id.compareTo(other.id);
+        }
+    }
+
+    private interface MatchVisitor {
+        /**
+         * Returns false to stop the scan.
+         */
+        boolean visit(BookDto book);
+    }
+
+    /**
+     * Index state. Not thread-safe on its own; guarded by the engine's lock.
+     */
+    private static final class Index {
+
+        private final List<Document> documents = new ArrayList<>();
+        private final Map<UUID, Integer> documentIds = new HashMap<>();
+        private final Map<Field, Map<String, IntPostings>> postings = new EnumMap<>(Field.class);
+        private final Map<BookSort, NavigableMap<SortKey, Document>> ordered = new EnumMap<>(BookSort.class);
+        private int removed;
+
+        Index() {
+            for (Field field : Field.values()) {
+                postings.put(field, new HashMap<>());
+            }
+            for (BookSort sort : BookSort.values()) {
+                ordered.put(sort, new TreeMap<>());
+            }
+        }
+
+        int size() {
+            return documentIds.size();
+        }
+
+        void add(BookDto book) {
+            remove(book.id());
+
+            int documentId = documents.size();
+            String[] text = new String[Field.values().length];
+            for (Field field : Field.values()) {
+                text[field.ordinal()] = normalize(field.extractor.apply(book));
+                Map<String, IntPostings> fieldPostings = postings.get(field);
+                for (String gram : grams(text[field.ordinal()])) {
+                    fieldPostings.computeIfAbsent(gram, key -> new IntPostings()).add(documentId);
+                }
+            }
+            Document document = new Document(book, text);
+            documents.add(document);
+            documentIds.put(book.id(), documentId);
+            ordered.forEach((sort, documentsInOrder) -> documentsInOrder.put(sortKey(sort, book), document));
+        }
+
+        void remove(UUID bookId) {
+            Integer documentId = documentIds.remove(bookId);
+            if (documentId == null) {
+                return;
+            }
+            BookDto book = documents.get(documentId).book();
+            ordered.forEach((sort, documentsInOrder) -> documentsInOrder.remove(sortKey(sort, book)));
+            documents.set(documentId, null);
+            removed++;
+            if (removed > REBUILD_BATCH_SIZE && removed > documentIds.size()) {
+                compact();
+            }
+        }
+
+        void forEachMatch(Query query, MatchVisitor visitor) {
+            int[] candidates = candidates(query);
+            if (candidates == null) {
+                for (Document document : documents) {
+                    if (document != null && query.matches(document) && !visitor.visit(document.book())) {
+                        return;
+                    }
+                }
+                return;
+            }
+            forEachCandidate(candidates, query, visitor);
+        }
+
+        /**
+         * Visits matching documents in sort order, starting right after the cursor.
+         */
+        void forEachInOrder(BookSort sort, Sort.Direction direction, BookCursor after, Query query, MatchVisitor visitor) {
+            NavigableMap<SortKey, Document> documentsInOrder = ordered.get(sort);
+            if (after != null) {
+                SortKey from = new SortKey(after.key(), after.id());
+                documentsInOrder = direction.isAscending()
+                        ? documentsInOrder.tailMap(from, false)
+                        : documentsInOrder.headMap(from, false);
+            }
+            if (direction.isDescending()) {
+                documentsInOrder = documentsInOrder.descendingMap();
+            }
+            for (Document document : documentsInOrder.values()) {
+                if (query.matches(document) && !visitor.visit(document.book())) {
+                    return;
+                }
+            }
+        }
+
+        void forEachCandidate(int[] candidates, Query query, MatchVisitor visitor) {
+            for (int documentId : candidates) {
+                Document document = documents.get(documentId);
+                if (document != null && query.matches(document) && !visitor.visit(document.book())) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Returns the smallest candidate list implied by the text filters, or null when every document must be checked.
+         */
+        int[] candidates(Query query) {
+            int[] best = null;
+            best = smallest(best, query.title() == null ? null : lookup(Field.TITLE, query.title()));
+            best = smallest(best, query.authorName() == null ? null : lookup(Field.AUTHOR, query.authorName()));
+            best = smallest(best, query.categoryName() == null ? null : lookup(Field.CATEGORY, query.categoryName()));
+            if (query.keyword() != null) {
+                int[] union = new int[0];
+                for (Field field : Field.values()) {
+                    int[] matches = lookup(field, query.keyword());
+                    if (matches == null) {
+                        union = null;
+                        break;
+                    }
+                    union = IntPostings.union(union, matches);
+                }
+                best = smallest(best, union);
+            }
+            return best;
+        }
+
+        private int[] lookup(Field field, String needle) {
+            if (needle.length() < GRAM) {
+                return null;
+            }
+            Map<String, IntPostings> fieldPostings = postings.get(field);
+            int[] result = null;
+            for (String gram : grams(needle)) {
+                IntPostings list = fieldPostings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                result = result == null ? list.toArray() : IntPostings.intersect(result, list);
+                if (result.length == 0) {
+                    return result;
+                }
+            }
+            return result;
+        }
+
+        private void compact() {
+            List<BookDto> live = documents.stream()
+                    .filter(document -> document != null)
+                    .map(Document::book)
+                    .toList();
+            documents.clear();
+            documentIds.clear();
+            postings.values().forEach(Map::clear);
+            ordered.values().forEach(Map::clear);
+            removed = 0;
+            live.forEach(this::add);
+        }
+
+        private static SortKey sortKey(BookSort sort, BookDto book) {
+            return new SortKey(sort.keyOf(book), book.id());
+        }
+
+        private static int[] smallest(int[] current, int[] candidate) {
+            if (candidate == null) {
+                return current;
+            }
+            return current == null || candidate.length < current.length ? candidate : current;
+        }
+
+        private static Set<String> grams(String text) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                grams.add(text.substring(i, i + GRAM));
+            }
+            return grams;
+        }
+    }
+
+    /**
+     * Append-only posting list of ascending document ids.
+     */
+    private static final class IntPostings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        static int[] intersect(int[] left, IntPostings right) {
+            int[] result = new int[Math.min(left.length, right.size)];
+            int i = 0, j = 0, n = 0;
+            while (i < left.length && j < right.size) {
+                if (left[i] < right.ids[j]) {
+                    i++;
+                } else if (left[i] > right.ids[j]) {
+                    j++;
+                } else {
+                    result[n++] = left[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+
+        static int[] union(int[] left, int[] right) {
+            int[] result = new int[left.length + right.length];
+            int i = 0, j = 0, n = 0;
+            while (i < left.length || j < right.length) {
+                if (j == right.length || (i < left.length && left[i] < right[j])) {
+                    result[n++] = left[i++];
+                } else if (i == left.length || right[j] < left[i]) {
+                    result[n++] = right[j++];
+                } else {
+                    result[n++] = left[i++];
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+    }
+}
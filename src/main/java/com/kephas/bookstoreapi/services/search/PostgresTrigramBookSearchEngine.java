@@ -0,0 +1,28 @@
+package com.kephas.bookstoreapi.services.search;
+
+import com.kephas.bookstoreapi.repositories.BookRepository;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Matches substrings with {@code ILIKE}, which PostgreSQL answers from {@code pg_trgm} GIN indexes
+ * instead of sequentially scanning books, authors and categories. The indexes are created by the
+ * repeatable migration that {@link com.kephas.bookstoreapi.config.TrigramSearchConfig} adds for this engine.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.search.engine", havingValue = "postgres")
+public class PostgresTrigramBookSearchEngine extends SpecificationBookSearchEngine {
+
+    public PostgresTrigramBookSearchEngine(BookRepository bookRepository) {
+        super(bookRepository);
+    }
+
+    @Override
+    protected Predicate contains(CriteriaBuilder cb, Expression<String> column, String value) {
+        return ((HibernateCriteriaBuilder) cb).ilike(column, "%" + value + "%");
+    }
+}
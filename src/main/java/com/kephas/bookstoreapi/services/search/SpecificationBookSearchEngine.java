@@ -0,0 +1,136 @@
+package com.kephas.bookstoreapi.services.search;
+
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.BookSearchCriteria;
+import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.exceptions.BadRequestException;
+import com.kephas.bookstoreapi.repositories.BookRepository;
+import com.kephas.bookstoreapi.utils.BookCursor;
+import com.kephas.bookstoreapi.utils.BookSort;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "bookstore.search.engine", havingValue = "specification", matchIfMissing = true)
+public class SpecificationBookSearchEngine implements BookSearchEngine {
+
+    protected final BookRepository bookRepository;
+
+    @Override
+    public List<BookDto> search(BookSearchCriteria criteria, BookSort sort, Sort.Direction direction, BookCursor after, int limit) {
+        Specification<Book> spec = matching(criteria);
+        if (after != null) {
+            spec = spec.and(after(after));
+        }
+        Sort order = sort == BookSort.ID ? Sort.by(direction, "id") : Sort.by(direction, sort.property(), "id");
+        return bookRepository.findDtos(spec, order, limit);
+    }
+
+    @Override
+    public long countUpTo(BookSearchCriteria criteria, int limit) {
+        return bookRepository.countUpTo(matching(criteria), limit);
+    }
+
+    protected Predicate contains(CriteriaBuilder cb, Expression<String> column, String value) {
+        return cb.like(cb.lower(column), "%" + value.toLowerCase() + "%");
+    }
+
+    private Specification<Book> matching(BookSearchCriteria criteria) {
+        String keyword = criteria.keyword();
+        String title = criteria.title();
+        String authorName = criteria.authorName();
+        String categoryName = criteria.categoryName();
+        Integer year = criteria.year();
+
+        Specification<Book> spec = Specification.allOf();
+
+        if (keyword != null && !keyword.isBlank()) {
+            spec = spec.and((root, query, cb) -> cb.or(
+                    contains(cb, root.get("title"), keyword),
+                    contains(cb, root.get("description"), keyword),
+                    contains(cb, join(root, "author").get("name"), keyword),
+                    contains(cb, join(root, "category").get("name"), keyword)
+            ));
+        }
+
+        if (title != null && !title.isBlank()) {
+            spec = spec.and((root, query, cb) -> contains(cb, root.get("title"), title));
+        }
+
+        if (authorName != null && !authorName.isBlank()) {
+            spec = spec.and((root, query, cb) -> contains(cb, join(root, "author").get("name"), authorName));
+        }
+
+        if (categoryName != null && !categoryName.isBlank()) {
+            spec = spec.and((root, query, cb) -> contains(cb, join(root, "category").get("name"), categoryName));
+        }
+
+
+        if (year != null) {
+            LocalDate start = LocalDate.of(year, 1, 1);
+            LocalDate end = LocalDate.of(year, 12, 31);
+
+            spec = spec.and((root, query, cb) ->
+                    cb.between(root.get("publicationDate"), start, end));
+        }
+
+        return spec;
+    }
+
+    private static Join<?, ?> join(Root<Book> root, String attribute) {
+        return root.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals(attribute))
+                .findFirst()
+                .orElseGet(() -> root.join(attribute, JoinType.LEFT));
+    }
+
+    private Specification<Book> after(BookCursor cursor) {
+        return switch (cursor.sort()) {
+            case TITLE -> after(cursor.sort().property(), cursor.key(), cursor);
+            case PUBLICATION_DATE -> after(cursor.sort().property(), parseDate(cursor.key()), cursor);
+            case ID -> afterId(cursor.id(), cursor.direction());
+        };
+    }
+
+    private static Specification<Book> afterId(UUID id, Sort.Direction direction) {
+        return (root, query, cb) -> direction.isAscending()
+                ? cb.greaterThan(root.<UUID>get("id"), id)
+                : cb.lessThan(root.<UUID>get("id"), id);
+    }
+
+    private <Y extends Comparable<? super Y>> Specification<Book> after(String property, Y key, BookCursor cursor) {
+        boolean ascending = cursor.direction().isAscending();
+        return (root, query, cb) -> cb.or(
+                ascending ? cb.greaterThan(root.<Y>get(property), key) : cb.lessThan(root.<Y>get(property), key),
+                cb.and(
+                        cb.equal(root.get(property), key),
+                        ascending
+                                ? cb.greaterThan(root.<UUID>get("id"), cursor.id())
+                                : cb.lessThan(root.<UUID>get("id"), cursor.id())
+                )
+        );
+    }
+
+    private LocalDate parseDate(String key) {
+        try {
+            return LocalDate.parse(key);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -9,23 +9,33 @@ public record ApiResponse<T>(
         int statusCode ,
         boolean success,
         String message,
-        T data
+        T data,
+        String nextCursor,
+        Long approximateTotal
 ) {
 
     public static<T> ApiResponse<T> success(String message, T data){
-        return new ApiResponse<>(200, true, message, data);
+        return new ApiResponse<>(200, true, message, data, null, null);
+    }
+
+    public static<T> ApiResponse<T> success(String message, T data, String nextCursor){
+        return new ApiResponse<>(200, true, message, data, nextCursor, null);
+    }
+
+    public static<T> ApiResponse<T> success(String message, T data, String nextCursor, Long approximateTotal){
+        return new ApiResponse<>(200, true, message, data, nextCursor, approximateTotal);
     }
 
     public static <T> ApiResponse<T> success (int code, String message, T data){
-        return new ApiResponse<>(code, true, message, data);
+        return new ApiResponse<>(code, true, message, data, null, null);
     }
 
     public static <T> ApiResponse<T> error(int code, String message){
-        return new ApiResponse<>(code, false, message, null);
+        return new ApiResponse<>(code, false, message, null, null, null);
     }
 
     public static <T> ApiResponse<T> error(int code, String message, T data){
-        return new ApiResponse<>(code, false, message, data);
+        return new ApiResponse<>(code, false, message, data, null, null);
     }
 
 
@@ -0,0 +1,39 @@
+package com.kephas.bookstoreapi.utils;
+
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.exceptions.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position for book listings: the sort key of the last row served plus its id as a tie-breaker.
+ */
+public record BookCursor(BookSort sort, Sort.Direction direction, String key, UUID id) {
+
+    public static BookCursor of(BookSort sort, Sort.Direction direction, BookDto book) {
+        return new BookCursor(sort, direction, sort.keyOf(book), book.id());
+    }
+
+    public String encode() {
+        String raw = sort.name() + ":" + direction.name() + ":" + id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 4);
+            return new BookCursor(
+                    BookSort.valueOf(parts[0]),
+                    Sort.Direction.valueOf(parts[1]),
+                    parts[3],
+                    UUID.fromString(parts[2])
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
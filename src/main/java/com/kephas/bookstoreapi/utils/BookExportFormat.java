@@ -0,0 +1,29 @@
+package com.kephas.bookstoreapi.utils;
+
+import com.kephas.bookstoreapi.exceptions.BadRequestException;
+
+public enum BookExportFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    JSON("json", "application/json");
+
+    private final String name;
+    private final String mediaType;
+
+    BookExportFormat(String name, String mediaType) {
+        this.name = name;
+        this.mediaType = mediaType;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public static BookExportFormat from(String value) {
+        for (BookExportFormat format : values()) {
+            if (format.name.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported format '" + value + "', expected one of: ndjson, json");
+    }
+}
@@ -0,0 +1,37 @@
+package com.kephas.bookstoreapi.utils;
+
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.exceptions.BadRequestException;
+
+import java.util.function.Function;
+
+public enum BookSort {
+    TITLE("title", BookDto::title),
+    PUBLICATION_DATE("publicationDate", book -> book.publicationDate().toString()),
+    ID("id", book -> book.id().toString());
+
+    private final String property;
+    private final Function<BookDto, String> keyExtractor;
+
+    BookSort(String property, Function<BookDto, String> keyExtractor) {
+        this.property = property;
+        this.keyExtractor = keyExtractor;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String keyOf(BookDto book) {
+        return keyExtractor.apply(book);
+    }
+
+    public static BookSort from(String value) {
+        for (BookSort sort : values()) {
+            if (sort.property.equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new BadRequestException("Unsupported sort '" + value + "', expected one of: title, publicationDate, id");
+    }
+}
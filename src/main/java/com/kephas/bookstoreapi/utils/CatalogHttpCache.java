@@ -0,0 +1,76 @@
+package com.kephas.bookstoreapi.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kephas.bookstoreapi.services.CatalogVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+
+/**
+ * Conditional GET for catalog reads. Each check sets {@code ETag}, {@code Last-Modified} and {@code Cache-Control}
+ * on the response and returns true when the client's copy is current; the handler then returns {@code null} and
+ * Spring answers {@code 304 Not Modified} without a body.
+ */
+@Component
+public class CatalogHttpCache {
+
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+    private final String cacheControl;
+    private final Cache<Object, String> contentHashes = Caffeine.newBuilder().weakKeys().build();
+
+    public CatalogHttpCache(CatalogVersion catalogVersion, ObjectMapper objectMapper,
+                            @Value("${bookstore.http-cache.max-age:0s}") Duration maxAge,
+                            @Value("${bookstore.http-cache.shared-max-age:0s}") Duration sharedMaxAge) {
+        this.catalogVersion = catalogVersion;
+        this.objectMapper = objectMapper;
+        CacheControl control = CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+        if (!sharedMaxAge.isZero()) {
+            control = control.sMaxAge(sharedMaxAge);
+        }
+        this.cacheControl = control.getHeaderValue();
+    }
+
+    /**
+     * Validates a collection against the catalog version. Call it before doing any work: a match costs one
+     * primary-key read and no serialization.
+     */
+    public boolean collectionNotModified(ServletWebRequest request) {
+        CatalogVersion.Snapshot snapshot = catalogVersion.current();
+        return checkNotModified(request, snapshot.etag(), snapshot);
+    }
+
+    /**
+     * Validates a single resource by a strong ETag over its content, so it stays valid across writes to other
+     * entities. {@code Last-Modified} is the catalog's last change, a conservative stand-in for the resource's own.
+     * The hash is kept per DTO instance for as long as that instance is reachable, so a representation served from
+     * the catalog caches is only serialized for its ETag once.
+     */
+    public boolean entityNotModified(ServletWebRequest request, Object representation) {
+        CatalogVersion.Snapshot snapshot = catalogVersion.current();
+        return checkNotModified(request, "\"" + contentHashes.get(representation, this::contentHash) + "\"", snapshot);
+    }
+
+    private boolean checkNotModified(ServletWebRequest request, String etag, CatalogVersion.Snapshot snapshot) {
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        return request.checkNotModified(etag, snapshot.lastModified().toEpochMilli());
+    }
+
+    private String contentHash(Object representation) {
+        try {
+            return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(representation));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + representation.getClass().getSimpleName(), ex);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.kephas.bookstoreapi.utils;
 
-import com.kephas.bookstoreapi.entities.User;
+import com.kephas.bookstoreapi.dtos.AuthenticatedUser;
 import com.kephas.bookstoreapi.exceptions.InvalidLoginCredentialsException;
 import com.kephas.bookstoreapi.exceptions.JwtAuthEntryPoint;
-import com.kephas.bookstoreapi.repositories.UserRepository;
 import com.kephas.bookstoreapi.services.JwtService;
+import com.kephas.bookstoreapi.services.PrincipalCache;
+import com.kephas.bookstoreapi.utils.jfr.PrincipalLookupEvent;
+import com.kephas.bookstoreapi.utils.timing.RequestTiming;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,16 +19,17 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.security.SignatureException;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
     private final JwtAuthEntryPoint authenticationEntryPoint;
 
     @Override
@@ -44,18 +47,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             String token = authHeader.substring(7);
-            String username = jwtService.extractUsername(token);
+            String username;
+            try (RequestTiming.Span ignored = RequestTiming.start(RequestTiming.Phase.JWT)) {
+                username = jwtService.verify(token).getSubject();
+            }
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                User user = userRepository.findByEmail(username)
-                        .orElseThrow(() -> new InvalidLoginCredentialsException("Invalid or expired token"));
-
-                if (jwtService.validateToken(token, user.getUsername())) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                Optional<AuthenticatedUser> principal;
+                PrincipalLookupEvent event = new PrincipalLookupEvent();
+                event.begin();
+                try (RequestTiming.Span ignored = RequestTiming.start(RequestTiming.Phase.USER)) {
+                    principal = principalCache.get(username);
                 }
+                event.finish(principal.isPresent());
+                AuthenticatedUser user = principal.orElseThrow(() -> new InvalidLoginCredentialsException("Invalid or expired token"));
+
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
 
             filterChain.doFilter(request, response);
@@ -0,0 +1,38 @@
+package com.kephas.bookstoreapi.utils;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered version 7 UUIDs (RFC 9562): a 48-bit Unix millisecond timestamp, a 12-bit counter that
+ * keeps ids monotonic within a millisecond, and 62 random bits. New rows therefore append to the right edge of
+ * the primary key B-tree instead of landing on random pages. Ids are generated in memory, so inserts still batch.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Last issued {@code timestamp << 12 | counter}. A counter overflow carries into the timestamp, which keeps
+     * ids strictly increasing at the cost of running up to a millisecond ahead under extreme load.
+     */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long state = LAST.updateAndGet(previous -> Math.max(now, previous + 1));
+
+        long mostSigBits = (state >>> 12) << 16 | 0x7000L | (state & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
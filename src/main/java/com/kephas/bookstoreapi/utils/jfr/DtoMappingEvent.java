@@ -0,0 +1,29 @@
+package com.kephas.bookstoreapi.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.kephas.bookstoreapi.DtoMapping")
+@Label("DTO Mapping")
+@Category({"Bookstore", "Mapping"})
+@Description("Mapping an entity to its DTO, including any embedded books")
+@StackTrace(false)
+public class DtoMappingEvent extends jdk.jfr.Event {
+
+    @Label("DTO Type")
+    String type;
+
+    @Label("Embedded Books")
+    int books;
+
+    public void finish(Class<?> type, int books) {
+        if (shouldCommit()) {
+            this.type = type.getSimpleName();
+            this.books = books;
+            commit();
+        }
+    }
+}
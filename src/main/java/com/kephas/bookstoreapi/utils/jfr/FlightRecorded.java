@@ -0,0 +1,16 @@
+package com.kephas.bookstoreapi.utils.jfr;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Emits a {@link ServiceMethodEvent} for every public method of the annotated bean.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FlightRecorded {
+}
@@ -0,0 +1,26 @@
+package com.kephas.bookstoreapi.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.kephas.bookstoreapi.JwtVerification")
+@Label("JWT Verification")
+@Category({"Bookstore", "Security"})
+@Description("Bearer token verification in JwtService")
+@StackTrace(false)
+public class JwtVerificationEvent extends jdk.jfr.Event {
+
+    @Label("Result")
+    @Description("cached, verified or rejected")
+    String result;
+
+    public void finish(String result) {
+        if (shouldCommit()) {
+            this.result = result;
+            commit();
+        }
+    }
+}
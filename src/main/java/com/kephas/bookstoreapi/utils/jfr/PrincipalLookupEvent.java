@@ -0,0 +1,25 @@
+package com.kephas.bookstoreapi.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.kephas.bookstoreapi.PrincipalLookup")
+@Label("Principal Lookup")
+@Category({"Bookstore", "Security"})
+@Description("Loading the authenticated user for a verified token")
+@StackTrace(false)
+public class PrincipalLookupEvent extends jdk.jfr.Event {
+
+    @Label("Found")
+    boolean found;
+
+    public void finish(boolean found) {
+        if (shouldCommit()) {
+            this.found = found;
+            commit();
+        }
+    }
+}
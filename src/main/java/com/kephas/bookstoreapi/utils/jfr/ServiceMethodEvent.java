@@ -0,0 +1,34 @@
+package com.kephas.bookstoreapi.utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.kephas.bookstoreapi.ServiceMethod")
+@Label("Service Method")
+@Category({"Bookstore", "Service"})
+@Description("A call into a @FlightRecorded service, including its cache lookup and transaction")
+@StackTrace(false)
+public class ServiceMethodEvent extends jdk.jfr.Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Failed")
+    @Description("The method threw an exception")
+    boolean failed;
+
+    public void finish(String service, String method, boolean failed) {
+        if (shouldCommit()) {
+            this.service = service;
+            this.method = method;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
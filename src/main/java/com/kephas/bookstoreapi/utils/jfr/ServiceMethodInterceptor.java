@@ -0,0 +1,34 @@
+package com.kephas.bookstoreapi.utils.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+/**
+ * Wraps service calls in a {@link ServiceMethodEvent}. When no recording has the event enabled the call goes
+ * straight through after one check.
+ */
+public class ServiceMethodInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ServiceMethodEvent event = new ServiceMethodEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        event.begin();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            Object target = invocation.getThis();
+            String service = target == null
+                    ? invocation.getMethod().getDeclaringClass().getSimpleName()
+                    : AopUtils.getTargetClass(target).getSimpleName();
+            event.finish(service, invocation.getMethod().getName(), failed);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.kephas.bookstoreapi.utils.timing;
+
+import java.util.Locale;
+
+/**
+ * Per-request cost breakdown, bound to the request thread by {@link RequestTimingFilter} for sampled requests
+ * only. Everywhere else {@link #start(Phase)} returns a no-op span after one thread-local read, so the
+ * instrumentation points can stay in the hot path.
+ * <p>
+ * Phases may overlap: statements issued while mapping (a lazy collection) count towards both {@code map} and
+ * {@code db}. A phase entered again while already open (a mapper calling another mapper) is only timed once.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        JWT("jwt"),
+        USER("user"),
+        DB("db"),
+        MAP("map"),
+        SERIALIZE("serialize");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final Span NOOP = () -> { };
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startNanos;
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] depth = new int[PHASES.length];
+    private long statements;
+    private long rows;
+    private boolean headerWritten;
+
+    RequestTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The recorder of the current request, or {@code null} when the request is not sampled.
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static Span start(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        return timing == null ? NOOP : timing.open(phase);
+    }
+
+    public static void recordStatements(int count) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.statements += count;
+        }
+    }
+
+    public static void recordRow() {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.rows++;
+        }
+    }
+
+    Span open(Phase phase) {
+        int index = phase.ordinal();
+        if (depth[index]++ > 0) {
+            return () -> depth[index]--;
+        }
+        long started = System.nanoTime();
+        return () -> {
+            depth[index]--;
+            nanos[index] += System.nanoTime() - started;
+        };
+    }
+
+    public long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    boolean headerWritten() {
+        return headerWritten;
+    }
+
+    void markHeaderWritten() {
+        headerWritten = true;
+    }
+
+    /**
+     * The {@code Server-Timing} header value, e.g.
+     * {@code jwt;dur=0.412, db;dur=3.100;desc="2 statements, 20 rows", total;dur=5.020}. Phases that were not
+     * entered are left out.
+     */
+    public String serverTiming(long nowNanos) {
+        StringBuilder header = new StringBuilder(160);
+        for (Phase phase : PHASES) {
+            long spent = nanos[phase.ordinal()];
+            if (spent == 0 && !(phase == Phase.DB && statements > 0)) {
+                continue;
+            }
+            header.append(phase.metricName()).append(";dur=").append(millis(spent));
+            if (phase == Phase.DB) {
+                header.append(";desc=\"").append(statements).append(" statements, ").append(rows).append(" rows\"");
+            }
+            header.append(", ");
+        }
+        return header.append("total;dur=").append(millis(nowNanos - startNanos)).toString();
+    }
+
+    /**
+     * The breakdown as {@code key=value} pairs for the structured log line.
+     */
+    public String logFields(long nowNanos) {
+        StringBuilder fields = new StringBuilder(160);
+        fields.append("total_ms=").append(millis(nowNanos - startNanos));
+        for (Phase phase : PHASES) {
+            fields.append(' ').append(phase.metricName()).append("_ms=").append(millis(nanos[phase.ordinal()]));
+        }
+        return fields.append(" statements=").append(statements).append(" rows=").append(rows).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
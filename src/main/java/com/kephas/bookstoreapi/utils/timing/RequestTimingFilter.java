@@ -0,0 +1,54 @@
+package com.kephas.bookstoreapi.utils.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples requests for {@link RequestTiming}. A sampled request gets a {@code Server-Timing} header (written by
+ * {@link TimedJacksonHttpMessageConverter} for JSON bodies, here for anything not yet committed such as a 304)
+ * and one {@code request_timing} log line; unsampled requests pay for one random draw.
+ */
+@Slf4j
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final double sampleRate;
+
+    public RequestTimingFilter(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!sampled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTiming.end();
+            long now = System.nanoTime();
+            if (!timing.headerWritten() && !response.isCommitted()) {
+                response.addHeader(SERVER_TIMING, timing.serverTiming(now));
+            }
+            log.info("request_timing method={} path={} status={} {}", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), timing.logFields(now));
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
@@ -0,0 +1,46 @@
+package com.kephas.bookstoreapi.utils.timing;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.jdk.JdkJdbcProxyFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+
+/**
+ * Only proxies JDBC objects for sampled requests. A connection obtained outside a sampled request is returned
+ * as the pool handed it out, so its statements and result sets go straight to the driver. Result sets of sampled
+ * requests get a thin wrapper counting {@link ResultSet#next()} calls that return {@code true}.
+ */
+public class TimingJdbcProxyFactory extends JdkJdbcProxyFactory {
+
+    @Override
+    public Connection createConnection(Connection connection, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        if (RequestTiming.current() == null) {
+            return connection;
+        }
+        return super.createConnection(connection, connectionInfo, proxyConfig);
+    }
+
+    @Override
+    public ResultSet createResultSet(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        if (RequestTiming.current() == null) {
+            return resultSet;
+        }
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(resultSet, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                    if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                        RequestTiming.recordRow();
+                    }
+                    return result;
+                });
+    }
+}
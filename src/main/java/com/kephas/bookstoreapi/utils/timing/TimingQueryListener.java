@@ -0,0 +1,32 @@
+package com.kephas.bookstoreapi.utils.timing;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Feeds statement execution time and count into {@link RequestTiming}. Rows are counted by
+ * {@link TimingJdbcProxyFactory}.
+ */
+public class TimingQueryListener implements QueryExecutionListener {
+
+    private static final String SPAN = RequestTiming.class.getName();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (RequestTiming.current() != null) {
+            execInfo.addCustomValue(SPAN, RequestTiming.start(RequestTiming.Phase.DB));
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestTiming.Span span = execInfo.getCustomValue(SPAN, RequestTiming.Span.class);
+        if (span != null) {
+            span.close();
+            RequestTiming.recordStatements(execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size());
+        }
+    }
+}
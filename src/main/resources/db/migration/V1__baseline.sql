@@ -0,0 +1,42 @@
+-- Schema as previously created by Hibernate (ddl-auto: update). Databases that already have these tables are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and start from V2.
+
+create table authors (
+    id        uuid         not null,
+    name      varchar(255) not null,
+    biography varchar(255),
+    constraint pk_authors primary key (id)
+);
+
+create table categories (
+    id          uuid         not null,
+    name        varchar(255) not null,
+    description varchar(255),
+    constraint pk_categories primary key (id)
+);
+
+create table books (
+    id               uuid           not null,
+    title            varchar(255)   not null,
+    isbn             varchar(255)   not null,
+    price            numeric(10, 2) not null,
+    publication_date date           not null,
+    description      varchar(255),
+    category_id      uuid           not null,
+    author_id        uuid           not null,
+    constraint pk_books primary key (id),
+    constraint uk_books_isbn unique (isbn),
+    constraint fk_books_category foreign key (category_id) references categories (id),
+    constraint fk_books_author foreign key (author_id) references authors (id)
+);
+
+create table users (
+    id         uuid         not null,
+    name       varchar(255) not null,
+    email      varchar(255) not null,
+    password   varchar(255) not null,
+    role       varchar(255) check (role in ('ADMIN', 'USER')),
+    created_at timestamp(6),
+    constraint pk_users primary key (id),
+    constraint uk_users_email unique (email)
+);
@@ -0,0 +1,7 @@
+-- Denormalized book counts, kept up to date by the application from here on.
+
+alter table authors add column if not exists book_count bigint not null default 0;
+alter table categories add column if not exists book_count bigint not null default 0;
+
+update authors a set book_count = (select count(*) from books b where b.author_id = a.id);
+update categories c set book_count = (select count(*) from books b where b.category_id = c.id);
@@ -0,0 +1,9 @@
+-- Built CONCURRENTLY so writes to the catalog are not blocked while they build; see the .conf file next to this
+-- script. A build that fails leaves an INVALID index behind, which has to be dropped before re-running.
+
+create index concurrently if not exists idx_authors_name on authors (name);
+create index concurrently if not exists idx_categories_name on categories (name);
+create index concurrently if not exists idx_books_author_id_id on books (author_id, id);
+create index concurrently if not exists idx_books_category_id_id on books (category_id, id);
+create index concurrently if not exists idx_books_publication_date_id on books (publication_date, id);
+create index concurrently if not exists idx_books_title_id on books (title, id);
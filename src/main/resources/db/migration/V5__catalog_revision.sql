@@ -0,0 +1,11 @@
+-- Single-row catalog version, incremented in every transaction that writes books, authors or categories. Collection
+-- endpoints derive their ETag and Last-Modified from it, so every instance agrees on them and they survive restarts.
+
+create table catalog_revision (
+    id            smallint                    not null,
+    revision      bigint                      not null,
+    last_modified timestamp(6) with time zone not null,
+    constraint pk_catalog_revision primary key (id)
+);
+
+insert into catalog_revision (id, revision, last_modified) values (1, 0, now());
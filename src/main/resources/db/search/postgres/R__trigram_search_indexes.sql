@@ -0,0 +1,14 @@
+-- GIN trigram indexes answering the ILIKE substring matches of bookstore.search.engine=postgres. This location is
+-- only added to Flyway while that engine is selected (see TrigramSearchConfig), so the default engine never needs
+-- pg_trgm. Creating the extension needs the CREATE privilege on the database; where the application role lacks it,
+-- have a superuser run "create extension pg_trgm" once and this script finds it in place.
+-- Repeatable rather than versioned, so selecting the engine on a database that is already past later versions still
+-- applies it. Built CONCURRENTLY, see the .conf file next to this script.
+
+create extension if not exists pg_trgm;
+
+create index concurrently if not exists idx_books_title_trgm on books using gin (title gin_trgm_ops);
+-- The keyword search matches description as well as title, so it gets the same index.
+create index concurrently if not exists idx_books_description_trgm on books using gin (description gin_trgm_ops);
+create index concurrently if not exists idx_authors_name_trgm on authors using gin (name gin_trgm_ops);
+create index concurrently if not exists idx_categories_name_trgm on categories using gin (name gin_trgm_ops);
@@ -1,13 +1,89 @@
 package com.kephas.bookstoreapi;
 
+import com.kephas.bookstoreapi.repositories.BookRepository;
+import com.kephas.bookstoreapi.services.BookService;
+import com.kephas.bookstoreapi.utils.jfr.ServiceMethodInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 class BookStoreApiApplicationTests {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void connectionPoolMetrics_ShouldBeRegistered() {
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.idle").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.pending").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").timer());
+    }
+
+    @Test
+    void repositoryAndHibernateMetrics_ShouldBeRegistered() {
+        bookRepository.count();
+
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "BookRepository").tag("method", "count").timer());
+        assertNotNull(meterRegistry.find("hibernate.query.executions").functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.entities.loads").functionCounter());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "books").functionCounter());
+    }
+
+    @Test
+    void flightRecordedServices_ShouldEmitServiceMethodEvents() {
+        assertTrue(Arrays.stream(((Advised) bookService).getAdvisors())
+                .anyMatch(advisor -> advisor.getAdvice() instanceof ServiceMethodInterceptor));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void prometheusEndpoint_ShouldExposeTimers() throws Exception {
+        mockMvc.perform(get("/actuator/health"));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_count")))
+                .andExpect(content().string(containsString("jwt_verify_seconds_bucket")));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void prometheusEndpoint_ShouldRequireAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+    }
+
 }
@@ -0,0 +1,78 @@
+package com.kephas.bookstoreapi.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.utils.ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a list response as written by the message converter, with a mapper built like Boot's
+ * (Java time module, ISO dates). Output goes to a null stream so buffer growth is not part of the figure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<BookDto>> response;
+
+    @Setup
+    public void setup() {
+        TypeFactory types = TypeFactory.defaultInstance();
+        writer = Jackson2ObjectMapperBuilder.json().build()
+                .writerFor(types.constructParametricType(ApiResponse.class,
+                        types.constructCollectionType(List.class, BookDto.class)));
+
+        UUID categoryId = UUID.randomUUID();
+        UUID authorId = UUID.randomUUID();
+        List<BookDto> books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            books.add(new BookDto(UUID.randomUUID(), "Book " + i, "isbn-" + i, new BigDecimal("12.99"),
+                    LocalDate.of(2000, 1, 1).plusDays(i % 10_000), "Description of book " + i,
+                    categoryId, "Fiction", authorId, "Ursula K. Le Guin"));
+        }
+        response = ApiResponse.success("Books fetched successfully", books, "next-cursor");
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), response);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ApiResponseSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
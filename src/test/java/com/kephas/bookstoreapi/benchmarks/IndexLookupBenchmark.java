@@ -0,0 +1,216 @@
+package com.kephas.bookstoreapi.benchmarks;
+
+import com.kephas.bookstoreapi.utils.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups on the search, paging and author/category delete paths, on the catalog schema with and without the
+ * indexes declared on the entities. Defaults to in-memory H2; pass {@code -p url=jdbc:postgresql://... -p user=...
+ * -p password=...} to measure against PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IndexLookupBenchmark {
+
+    private static final int AUTHORS = 1000;
+    private static final int CATEGORIES = 50;
+    private static final int BATCH = 1000;
+
+    private static final List<String> INDEXES = List.of(
+            "create index idx_authors_name on authors (name)",
+            "create index idx_categories_name on categories (name)",
+            "create index idx_books_author_id_id on books (author_id, id)",
+            "create index idx_books_category_id_id on books (category_id, id)",
+            "create index idx_books_publication_date_id on books (publication_date, id)",
+            "create index idx_books_title_id on books (title, id)"
+    );
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    @Param({"100000"})
+    public int books;
+
+    @Param({"jdbc:h2:mem:index_bench"})
+    public String url;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private Connection connection;
+    private UUID[] authorIds;
+    private UUID[] categoryIds;
+    private PreparedStatement authorByName;
+    private PreparedStatement bookRefsOfAuthor;
+    private PreparedStatement booksOfCategoryPage;
+    private PreparedStatement booksPublishedIn;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists books");
+            statement.execute("drop table if exists authors");
+            statement.execute("drop table if exists categories");
+            statement.execute("create table authors (id uuid primary key, name varchar(255) not null)");
+            statement.execute("create table categories (id uuid primary key, name varchar(255) not null)");
+            statement.execute("""
+                    create table books (
+                        id uuid primary key,
+                        title varchar(255) not null,
+                        publication_date date not null,
+                        author_id uuid not null references authors (id),
+                        category_id uuid not null references categories (id))
+                    """);
+        }
+
+        authorIds = insertOwners("authors", AUTHORS, "Author ");
+        categoryIds = insertOwners("categories", CATEGORIES, "Category ");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into books (id, title, publication_date, author_id, category_id) values (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < books; i++) {
+                insert.setObject(1, UuidV7Generator.next());
+                insert.setString(2, "Title " + random.nextInt(books));
+                insert.setDate(3, Date.valueOf(LocalDate.of(1950 + random.nextInt(75), 1 + random.nextInt(12), 1)));
+                insert.setObject(4, authorIds[random.nextInt(AUTHORS)]);
+                insert.setObject(5, categoryIds[random.nextInt(CATEGORIES)]);
+                insert.addBatch();
+                if ((i + 1) % BATCH == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        if (indexed) {
+            try (Statement statement = connection.createStatement()) {
+                for (String index : INDEXES) {
+                    statement.execute(index);
+                }
+            }
+        }
+        connection.commit();
+
+        authorByName = connection.prepareStatement("select id from authors where name = ?");
+        bookRefsOfAuthor = connection.prepareStatement("select id, author_id, category_id from books where author_id = ?");
+        booksOfCategoryPage = connection.prepareStatement(
+                "select id, title from books where category_id = ? order by id fetch first 20 rows only");
+        booksPublishedIn = connection.prepareStatement(
+                "select id, title from books where publication_date between ? and ? order by publication_date, id fetch first 20 rows only");
+    }
+
+    private UUID[] insertOwners(String table, int count, String namePrefix) throws SQLException {
+        UUID[] ids = new UUID[count];
+        try (PreparedStatement insert = connection.prepareStatement("insert into " + table + " (id, name) values (?, ?)")) {
+            for (int i = 0; i < count; i++) {
+                ids[i] = UuidV7Generator.next();
+                insert.setObject(1, ids[i]);
+                insert.setString(2, namePrefix + i);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        return ids;
+    }
+
+    /**
+     * {@code findAuthorByName("Unknown")} on author delete.
+     */
+    @Benchmark
+    public int authorByName() throws SQLException {
+        authorByName.setString(1, "Author " + ThreadLocalRandom.current().nextInt(AUTHORS));
+        return drain(authorByName);
+    }
+
+    /**
+     * {@code findRefsByAuthorId} on author update and delete.
+     */
+    @Benchmark
+    public int bookRefsOfAuthor() throws SQLException {
+        bookRefsOfAuthor.setObject(1, authorIds[ThreadLocalRandom.current().nextInt(AUTHORS)]);
+        return drain(bookRefsOfAuthor);
+    }
+
+    /**
+     * First page of {@code GET /categories/{id}/books}.
+     */
+    @Benchmark
+    public int booksOfCategoryPage() throws SQLException {
+        booksOfCategoryPage.setObject(1, categoryIds[ThreadLocalRandom.current().nextInt(CATEGORIES)]);
+        return drain(booksOfCategoryPage);
+    }
+
+    /**
+     * First page of a search filtered by publication year and sorted by publication date.
+     */
+    @Benchmark
+    public int booksPublishedIn() throws SQLException {
+        int year = 1950 + ThreadLocalRandom.current().nextInt(75);
+        booksPublishedIn.setDate(1, Date.valueOf(LocalDate.of(year, 1, 1)));
+        booksPublishedIn.setDate(2, Date.valueOf(LocalDate.of(year, 12, 31)));
+        return drain(booksPublishedIn);
+    }
+
+    private static int drain(PreparedStatement query) throws SQLException {
+        int rows = 0;
+        try (ResultSet result = query.executeQuery()) {
+            while (result.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists books");
+            statement.execute("drop table if exists authors");
+            statement.execute("drop table if exists categories");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IndexLookupBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.kephas.bookstoreapi.benchmarks;
+
+import com.kephas.bookstoreapi.dtos.AuthorDto;
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.CategoryDto;
+import com.kephas.bookstoreapi.entities.Author;
+import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.entities.Category;
+import com.kephas.bookstoreapi.mappers.AuthorMapper;
+import com.kephas.bookstoreapi.mappers.BookMapper;
+import com.kephas.bookstoreapi.mappers.CategoryMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping on detached, fully initialised entities, so only the mapping is measured (a lazy books
+ * collection would add its query). {@code books} is the size of the embedded list on the author and the category.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MapperBenchmark {
+
+    private final BookMapper bookMapper = new BookMapper();
+    private final AuthorMapper authorMapper = new AuthorMapper(bookMapper);
+    private final CategoryMapper categoryMapper = new CategoryMapper(bookMapper);
+    private Book book;
+
+    @Setup
+    public void setup() {
+        book = Catalog.books(1).get(0);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+
+        @Param({"10", "1000", "10000"})
+        public int books;
+
+        private Author author;
+        private Category category;
+
+        @Setup
+        public void setup() {
+            List<Book> catalog = books(books);
+            author = catalog.get(0).getAuthor();
+            category = catalog.get(0).getCategory();
+        }
+
+        static List<Book> books(int count) {
+            Author author = new Author(UUID.randomUUID(), "Ursula K. Le Guin", "Author of the Earthsea cycle", count, new ArrayList<>());
+            Category category = new Category(UUID.randomUUID(), "Fiction", "Novels and short stories", count, new ArrayList<>());
+            for (int i = 0; i < count; i++) {
+                Book book = new Book(UUID.randomUUID(), "Book " + i, "isbn-" + i, new BigDecimal("12.99"),
+                        LocalDate.of(2000, 1, 1).plusDays(i), "Description of book " + i, category, author);
+                author.getBooks().add(book);
+                category.getBooks().add(book);
+            }
+            return author.getBooks();
+        }
+    }
+
+    @Benchmark
+    public BookDto bookToDto() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public AuthorDto authorToDto(Catalog catalog) {
+        return authorMapper.toDto(catalog.author, true);
+    }
+
+    @Benchmark
+    public CategoryDto categoryToDto(Catalog catalog) {
+        return categoryMapper.toDto(catalog.category, true);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,150 @@
+package com.kephas.bookstoreapi.benchmarks;
+
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.BookSearchCriteria;
+import com.kephas.bookstoreapi.dtos.CursorPage;
+import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.repositories.BookRepository;
+import com.kephas.bookstoreapi.repositories.BookRepositoryCustomImpl;
+import com.kephas.bookstoreapi.services.BookService;
+import com.kephas.bookstoreapi.services.search.SpecificationBookSearchEngine;
+import com.kephas.bookstoreapi.utils.BookCursor;
+import com.kephas.bookstoreapi.utils.BookSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The query-building half of {@link BookService#searchBooks}: {@code buildSpecification} covers cursor decoding
+ * and composing the {@link Specification}; {@code translateQuery} additionally renders it through
+ * {@code findDtos} into a Hibernate criteria query, SQL, and one round trip to an empty in-memory H2 table, so
+ * the figure is dominated by translation rather than data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SearchSpecificationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"none", "keyword", "all"})
+    public String criteria;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private BookService capturing;
+    private BookService translating;
+    private BookSearchCriteria searchCriteria;
+    private String cursor;
+
+    @Setup
+    public void setup() {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new DriverManagerDataSource("jdbc:h2:mem:search;DB_CLOSE_DELAY=-1", "sa", ""));
+        factoryBean.setPackagesToScan("com.kephas.bookstoreapi.entities");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+
+        BookRepositoryCustomImpl findDtos = new BookRepositoryCustomImpl();
+        ReflectionTestUtils.setField(findDtos, "entityManager", entityManager);
+
+        capturing = bookService(repository((spec, sort, limit) -> List.of()));
+        translating = bookService(repository(findDtos::findDtos));
+
+        switch (criteria) {
+            case "none" -> {
+                searchCriteria = BookSearchCriteria.none();
+                cursor = null;
+            }
+            case "keyword" -> {
+                searchCriteria = new BookSearchCriteria("earthsea", null, null, null, null);
+                cursor = null;
+            }
+            default -> {
+                searchCriteria = new BookSearchCriteria("earthsea", "wizard", "le guin", "fantasy", 1968);
+                cursor = BookCursor.of(BookSort.TITLE, Sort.Direction.ASC, new BookDto(UUID.randomUUID(),
+                        "A Wizard of Earthsea", "isbn-1", BigDecimal.TEN, LocalDate.of(1968, 11, 1),
+                        "Description", UUID.randomUUID(), "Fantasy", UUID.randomUUID(), "Ursula K. Le Guin")).encode();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public CursorPage<BookDto> buildSpecification() {
+        return capturing.searchBooks(searchCriteria, BookSort.TITLE, Sort.Direction.ASC, cursor, PAGE_SIZE, false);
+    }
+
+    @Benchmark
+    public CursorPage<BookDto> translateQuery() {
+        return translating.searchBooks(searchCriteria, BookSort.TITLE, Sort.Direction.ASC, cursor, PAGE_SIZE, false);
+    }
+
+    /**
+     * searchBooks only uses the search engine; everything else is left out.
+     */
+    private static BookService bookService(BookRepository repository) {
+        return new BookService(null, null, null, null, new SpecificationBookSearchEngine(repository),
+                null, null, null, null);
+    }
+
+    private interface FindDtos {
+        List<BookDto> findDtos(Specification<Book> spec, Sort sort, int limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BookRepository repository(FindDtos findDtos) {
+        return (BookRepository) Proxy.newProxyInstance(BookRepository.class.getClassLoader(),
+                new Class<?>[]{BookRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findDtos")) {
+                        return findDtos.findDtos((Specification<Book>) args[0], (Sort) args[1], (int) args[2]);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SearchSpecificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
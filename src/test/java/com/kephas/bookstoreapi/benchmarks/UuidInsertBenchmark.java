@@ -0,0 +1,106 @@
+package com.kephas.bookstoreapi.benchmarks;
+
+import com.kephas.bookstoreapi.utils.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Time to insert one JDBC batch into a table whose UUID primary key already holds {@code preload} rows, with
+ * random (v4) versus time-ordered (v7) keys. Defaults to in-memory H2; pass {@code -p url=jdbc:postgresql://...
+ * -p user=... -p password=...} to measure page splits on a real PostgreSQL B-tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @Param({"random", "v7"})
+    public String strategy;
+
+    @Param({"100000"})
+    public int preload;
+
+    @Param({"jdbc:h2:mem:uuid_bench"})
+    public String url;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        ids = "v7".equals(strategy) ? UuidV7Generator::next : UUID::randomUUID;
+        connection = DriverManager.getConnection(url, user, password);
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists uuid_bench");
+            statement.execute("create table uuid_bench (id uuid primary key, title varchar(255) not null)");
+        }
+        connection.commit();
+        insert = connection.prepareStatement("insert into uuid_bench (id, title) values (?, ?)");
+        for (int i = 0; i < preload; i += BATCH) {
+            insertBatch();
+        }
+    }
+
+    @Benchmark
+    public int insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, ids.get());
+            insert.setString(2, "Benchmark title");
+            insert.addBatch();
+        }
+        int inserted = insert.executeBatch().length;
+        connection.commit();
+        return inserted;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists uuid_bench");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UuidInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
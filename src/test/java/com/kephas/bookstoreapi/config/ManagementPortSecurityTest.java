@@ -0,0 +1,54 @@
+package com.kephas.bookstoreapi.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureObservability(tracing = false)
+@DisplayName("Actuator on the management port")
+class ManagementPortSecurityTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    @DisplayName("Should let Prometheus scrape the management port without a token")
+    void prometheus_ShouldBeOpen_OnManagementPort() {
+        ResponseEntity<String> response = get(managementPort, "/actuator/prometheus");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("http_server_requests_seconds"));
+    }
+
+    @Test
+    @DisplayName("Should keep the other actuator endpoints admin-only")
+    void metrics_ShouldRequireAdmin_OnManagementPort() {
+        assertEquals(HttpStatus.FORBIDDEN, get(managementPort, "/actuator/metrics").getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should not let an anonymous scrape through on the public port")
+    void prometheus_ShouldRequireAdmin_OnServerPort() {
+        assertEquals(HttpStatus.FORBIDDEN, get(serverPort, "/actuator/prometheus").getStatusCode());
+    }
+
+    private ResponseEntity<String> get(int port, String path) {
+        return restTemplate.getForEntity("http://localhost:" + port + path, String.class);
+    }
+}
@@ -0,0 +1,40 @@
+package com.kephas.bookstoreapi.config;
+
+import com.kephas.bookstoreapi.utils.BoundedPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SecurityConfig password encoder tests")
+class SecurityConfigTest {
+
+    private final BoundedPasswordEncoder encoder = new SecurityConfig(null, null).passwordEncoder(4, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("Should encode new hashes with bcrypt at the configured strength")
+    void encode_ShouldUseConfiguredBcryptStrength() {
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$04$"), hash);
+        assertTrue(encoder.matches("secret", hash));
+    }
+
+    @Test
+    @DisplayName("Should still match hashes stored under the other standard ids")
+    void matches_ShouldAcceptOtherStandardIds() {
+        String pbkdf2 = "{pbkdf2@SpringSecurity_v5_8}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("secret");
+
+        assertTrue(encoder.matches("secret", "{noop}secret"));
+        assertFalse(encoder.matches("other", "{noop}secret"));
+        assertTrue(encoder.matches("secret", pbkdf2));
+        assertTrue(encoder.upgradeEncoding("{noop}secret"));
+    }
+}
@@ -2,9 +2,15 @@ package com.kephas.bookstoreapi.controllers;
 
 import com.kephas.bookstoreapi.dtos.AuthorDto;
 import com.kephas.bookstoreapi.entities.Author;
+import com.kephas.bookstoreapi.entities.CatalogRevision;
 import com.kephas.bookstoreapi.exceptions.ResourceNotFoundException;
-import com.kephas.bookstoreapi.mappers.AuthorMapper;
+import com.kephas.bookstoreapi.dtos.AuthorSummaryDto;
+import com.kephas.bookstoreapi.dtos.CursorPage;
+import com.kephas.bookstoreapi.repositories.CatalogRevisionRepository;
 import com.kephas.bookstoreapi.services.AuthorService;
+import com.kephas.bookstoreapi.services.BookService;
+import com.kephas.bookstoreapi.services.CatalogVersion;
+import com.kephas.bookstoreapi.utils.CatalogHttpCache;
 import com.kephas.bookstoreapi.utils.JwtAuthenticationFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,12 +19,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -26,29 +37,31 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AuthorController.class)
+@Import({CatalogHttpCache.class, CatalogVersion.class})
 @AutoConfigureMockMvc(addFilters = false)
 class AuthorControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @MockitoBean
+    private CatalogRevisionRepository catalogRevisionRepository;
+
     @MockitoBean
     private AuthorService authorService;
 
     @MockitoBean
-    private AuthorMapper authorMapper;
+    private BookService bookService;
 
     @MockitoBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     private AuthorDto authorDto;
-    private Author author;
     private String authorJson;
 
     @BeforeEach
     void setup() {
         authorDto = new AuthorDto(null, "Kephas", "Test Author", null);
-        author = new Author(null, "Kephas", "Test Author", null);
 
         authorJson = """
                 {
@@ -65,10 +78,84 @@ class AuthorControllerTest {
         @Test
         @DisplayName("getAllAuthors_shouldReturn200")
         void getAllAuthors_shouldReturn200() throws Exception {
+            when(authorService.getAuthors()).thenReturn(List.of(new AuthorSummaryDto(UUID.randomUUID(), "Kephas", "Test Author", 3)));
+
             mockMvc.perform(get("/api/v1/authors"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.success").value(true))
-                    .andExpect(jsonPath("$.data").isArray());
+                    .andExpect(jsonPath("$.data").isArray())
+                    .andExpect(jsonPath("$.data[0].bookCount").value(3))
+                    .andExpect(jsonPath("$.data[0].books").doesNotExist());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional GET")
+    class ConditionalGet {
+
+        @Test
+        @DisplayName("getAllAuthors_withCurrentEtag_shouldReturn304WithoutQuerying")
+        void getAllAuthors_withCurrentEtag_shouldReturn304WithoutQuerying() throws Exception {
+            when(catalogRevisionRepository.findById(any()))
+                    .thenReturn(Optional.of(new CatalogRevision((short) 1, 4, Instant.parse("2026-01-01T00:00:00Z"))));
+
+            String etag = mockMvc.perform(get("/api/v1/authors"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("Last-Modified"))
+                    .andExpect(header().string("Cache-Control", containsString("must-revalidate")))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/api/v1/authors").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            verify(authorService, times(1)).getAuthors();
+        }
+
+        @Test
+        @DisplayName("getAuthorById_withCurrentEtag_shouldReturn304")
+        void getAuthorById_withCurrentEtag_shouldReturn304() throws Exception {
+            UUID id = UUID.randomUUID();
+            when(authorService.getOneAuthor(id, true)).thenReturn(authorDto);
+
+            String etag = mockMvc.perform(get("/api/v1/authors/" + id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/api/v1/authors/" + id).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+
+            when(authorService.getOneAuthor(id, true)).thenReturn(new AuthorDto(id, "Renamed", "Test Author", null));
+            mockMvc.perform(get("/api/v1/authors/" + id).header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.name").value("Renamed"));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/authors/{id}/books")
+    class GetAuthorBooks {
+
+        @Test
+        @DisplayName("getAuthorBooks_shouldReturnPageWithCursor")
+        void getAuthorBooks_shouldReturnPageWithCursor() throws Exception {
+            UUID id = UUID.randomUUID();
+            when(bookService.getBooksByAuthor(id, "abc", 5)).thenReturn(new CursorPage<>(List.of(), "next"));
+
+            mockMvc.perform(get("/api/v1/authors/" + id + "/books").param("cursor", "abc").param("size", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data").isArray())
+                    .andExpect(jsonPath("$.nextCursor").value("next"));
+        }
+
+        @Test
+        @DisplayName("getAuthorBooks_shouldReturn404")
+        void getAuthorBooks_shouldReturn404() throws Exception {
+            UUID id = UUID.randomUUID();
+            when(bookService.getBooksByAuthor(id, null, 20)).thenThrow(new ResourceNotFoundException("Author not found"));
+
+            mockMvc.perform(get("/api/v1/authors/" + id + "/books"))
+                    .andExpect(status().isNotFound());
         }
     }
 
@@ -80,8 +167,7 @@ class AuthorControllerTest {
         @DisplayName("getAuthorById_shouldReturn200")
         void getAuthorById_shouldReturn200() throws Exception {
             UUID id = UUID.randomUUID();
-            when(authorService.getOneAuthor(id)).thenReturn(author);
-            when(authorMapper.toDto(author)).thenReturn(authorDto);
+            when(authorService.getOneAuthor(id, true)).thenReturn(authorDto);
 
             mockMvc.perform(get("/api/v1/authors/" + id))
                     .andExpect(status().isOk())
@@ -90,11 +176,23 @@ class AuthorControllerTest {
                     .andExpect(jsonPath("$.data.biography").value("Test Author"));
         }
 
+        @Test
+        @DisplayName("getAuthorById_withoutBooks_shouldOmitBooks")
+        void getAuthorById_withoutBooks_shouldOmitBooks() throws Exception {
+            UUID id = UUID.randomUUID();
+            when(authorService.getOneAuthor(id, false)).thenReturn(authorDto);
+
+            mockMvc.perform(get("/api/v1/authors/" + id).param("includeBooks", "false"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.name").value("Kephas"))
+                    .andExpect(jsonPath("$.data.books").doesNotExist());
+        }
+
         @Test
         @DisplayName("getAuthorById_shouldReturn404")
         void getAuthorById_shouldReturn404() throws Exception {
             UUID id = UUID.randomUUID();
-            when(authorService.getOneAuthor(id)).thenThrow(new ResourceNotFoundException("Author not found"));
+            when(authorService.getOneAuthor(id, true)).thenThrow(new ResourceNotFoundException("Author not found"));
 
             mockMvc.perform(get("/api/v1/authors/" + id))
                     .andExpect(status().isNotFound())
@@ -2,12 +2,21 @@ package com.kephas.bookstoreapi.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.BookImportError;
+import com.kephas.bookstoreapi.dtos.BookImportResult;
+import com.kephas.bookstoreapi.dtos.BookSearchCriteria;
+import com.kephas.bookstoreapi.dtos.CursorPage;
 import com.kephas.bookstoreapi.entities.Author;
-import com.kephas.bookstoreapi.entities.Book;
 import com.kephas.bookstoreapi.entities.Category;
+import com.kephas.bookstoreapi.exceptions.BadRequestException;
 import com.kephas.bookstoreapi.exceptions.ResourceNotFoundException;
-import com.kephas.bookstoreapi.mappers.BookMapper;
+import com.kephas.bookstoreapi.repositories.CatalogRevisionRepository;
+import com.kephas.bookstoreapi.services.BookImportService;
 import com.kephas.bookstoreapi.services.BookService;
+import com.kephas.bookstoreapi.utils.BookExportFormat;
+import com.kephas.bookstoreapi.utils.BookSort;
+import com.kephas.bookstoreapi.services.CatalogVersion;
+import com.kephas.bookstoreapi.utils.CatalogHttpCache;
 import com.kephas.bookstoreapi.utils.JwtAuthenticationFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,11 +25,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -30,6 +44,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookController.class)
+@Import({CatalogHttpCache.class, CatalogVersion.class})
 @AutoConfigureMockMvc(addFilters = false)
 class BookControllerTest {
 
@@ -39,22 +54,24 @@ class BookControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @MockitoBean
+    private CatalogRevisionRepository catalogRevisionRepository;
+
     @MockitoBean
     private BookService bookService;
 
     @MockitoBean
-    private BookMapper bookMapper;
+    private BookImportService bookImportService;
 
     @MockitoBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     private BookDto bookDto;
-    private Book book;
 
     @BeforeEach
     void setup() {
-        Category category = new Category(UUID.randomUUID(), "Fiction", null, null);
-        Author author = new Author(UUID.randomUUID(), "John Doe", null, null);
+        Category category = new Category(UUID.randomUUID(), "Fiction", null, 0, null);
+        Author author = new Author(UUID.randomUUID(), "John Doe", null, 0, null);
 
         bookDto = new BookDto(
                 null, "Test Book", "isb59595959595", new BigDecimal("40.00"),
@@ -62,12 +79,6 @@ class BookControllerTest {
                 category.getId(), category.getName(),
                 author.getId(), author.getName()
         );
-
-        book = new Book(
-                null, "Test Book", "isb59595959595", new BigDecimal("40.00"),
-                LocalDate.now(), "This is a test book",
-                category, author
-        );
     }
 
     @Nested
@@ -76,13 +87,35 @@ class BookControllerTest {
         @Test
         @DisplayName("Should return 200 OK with book list")
         void shouldReturn200() throws Exception {
-            when(bookService.getBooks()).thenReturn(List.of(book));
-            when(bookMapper.toDto(any())).thenReturn(bookDto);
+            when(bookService.getBooks(null, 20)).thenReturn(new CursorPage<>(List.of(bookDto), null));
 
             mockMvc.perform(get("/api/v1/books"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.success").value(true))
-                    .andExpect(jsonPath("$.data").isArray());
+                    .andExpect(jsonPath("$.data").isArray())
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should pass cursor and size through and return next cursor")
+        void shouldReturnNextCursor() throws Exception {
+            when(bookService.getBooks("abc", 5)).thenReturn(new CursorPage<>(List.of(bookDto), "def"));
+
+            mockMvc.perform(get("/api/v1/books")
+                            .param("cursor", "abc")
+                            .param("size", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nextCursor").value("def"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 BadRequest for invalid cursor")
+        void shouldReturn400ForInvalidCursor() throws Exception {
+            when(bookService.getBooks("bad", 20)).thenThrow(new BadRequestException("Invalid cursor"));
+
+            mockMvc.perform(get("/api/v1/books").param("cursor", "bad"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
         }
     }
 
@@ -212,27 +245,91 @@ class BookControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/v1/books/export")
+    class ExportBooks {
+        @Test
+        @DisplayName("Should stream NDJSON by default")
+        void shouldStreamNdjson() throws Exception {
+            doAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(1);
+                out.write("{\"title\":\"Test Book\"}\n".getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(bookService).exportBooks(eq(BookExportFormat.NDJSON), any(OutputStream.class));
+
+            mockMvc.perform(get("/api/v1/books/export"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                    .andExpect(content().string("{\"title\":\"Test Book\"}\n"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 BadRequest for an unknown format")
+        void shouldReturn400_WhenFormatUnknown() throws Exception {
+            mockMvc.perform(get("/api/v1/books/export").param("format", "xml"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+
+            verify(bookService, never()).exportBooks(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/books/import")
+    class ImportBooks {
+        @Test
+        @DisplayName("Should import JSON and summarise the result")
+        void shouldImportJson() throws Exception {
+            BookImportResult result = new BookImportResult(1, 1, List.of(new BookImportError(2, "X", "Author does not exist")));
+            when(bookImportService.importJson(any(InputStream.class))).thenReturn(result);
+
+            mockMvc.perform(post("/api/v1/books/import")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Imported 1 book, 1 failed"))
+                    .andExpect(jsonPath("$.data.errors[0].row").value(2));
+        }
+
+        @Test
+        @DisplayName("Should route text/csv uploads to the CSV importer")
+        void shouldImportCsv() throws Exception {
+            when(bookImportService.importCsv(any(InputStream.class))).thenReturn(new BookImportResult(2, 0, List.of()));
+
+            mockMvc.perform(post("/api/v1/books/import")
+                            .contentType("text/csv")
+                            .content("title,isbn\n"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Imported 2 books, 0 failed"));
+
+            verify(bookImportService, never()).importJson(any());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/v1/books/search")
     class SearchBooks {
         @Test
         @DisplayName("Should return 200 OK with results")
         void shouldReturn200WithResults() throws Exception {
-            when(bookService.searchBooks("Book Title", null, null, null)).thenReturn(List.of(book));
-            when(bookMapper.toDto(any())).thenReturn(bookDto);
+            BookSearchCriteria criteria = new BookSearchCriteria(null, "Book Title", null, null, null);
+            when(bookService.searchBooks(criteria, BookSort.TITLE, Sort.Direction.ASC, null, 20, false))
+                    .thenReturn(new CursorPage<>(List.of(bookDto), null));
 
             mockMvc.perform(get("/api/v1/books/search")
                             .param("title", "Book Title"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.success").value(true))
                     .andExpect(jsonPath("$.data").isArray())
-                    .andExpect(jsonPath("$.message").value("Found 1 book matching the search criteria"));
+                    .andExpect(jsonPath("$.message").value("Found books matching the search criteria"));
         }
 
         @Test
         @DisplayName("Should return 200 OK with no results")
         void shouldReturn200WithNoResults() throws Exception {
-            when(bookService.searchBooks("Nonexistent", null, null, null)).thenReturn(List.of());
+            BookSearchCriteria criteria = new BookSearchCriteria(null, "Nonexistent", null, null, null);
+            when(bookService.searchBooks(criteria, BookSort.TITLE, Sort.Direction.ASC, null, 20, false))
+                    .thenReturn(new CursorPage<>(List.of(), null));
 
             mockMvc.perform(get("/api/v1/books/search")
                             .param("title", "Nonexistent"))
@@ -241,5 +338,49 @@ class BookControllerTest {
                     .andExpect(jsonPath("$.data").isArray())
                     .andExpect(jsonPath("$.message").value("No books found matching the search criteria"));
         }
+
+        @Test
+        @DisplayName("Should pass sort, cursor and total flag through")
+        void shouldReturnTotalAndCursor() throws Exception {
+            BookSearchCriteria criteria = new BookSearchCriteria(null, null, "Doe", null, null);
+            when(bookService.searchBooks(criteria, BookSort.PUBLICATION_DATE, Sort.Direction.DESC, "abc", 1, true))
+                    .thenReturn(new CursorPage<>(List.of(bookDto), "def", 12L));
+
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("authorName", "Doe")
+                            .param("sort", "publicationDate")
+                            .param("direction", "desc")
+                            .param("cursor", "abc")
+                            .param("size", "1")
+                            .param("includeTotal", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.nextCursor").value("def"))
+                    .andExpect(jsonPath("$.approximateTotal").value(12))
+                    .andExpect(jsonPath("$.message").value("Found 12 books matching the search criteria"));
+        }
+
+        @Test
+        @DisplayName("Should report a capped total as a lower bound")
+        void shouldReportCappedTotalAsLowerBound() throws Exception {
+            BookSearchCriteria criteria = new BookSearchCriteria("book", null, null, null, null);
+            when(bookService.searchBooks(criteria, BookSort.TITLE, Sort.Direction.ASC, null, 20, true))
+                    .thenReturn(new CursorPage<>(List.of(bookDto), "def", 1000L, true));
+
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("keyword", "book")
+                            .param("includeTotal", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.approximateTotal").value(1000))
+                    .andExpect(jsonPath("$.message").value("Found at least 1000 books matching the search criteria"));
+        }
+
+        @Test
+        @DisplayName("Should return 400 BadRequest for unsupported sort")
+        void shouldReturn400ForUnsupportedSort() throws Exception {
+            mockMvc.perform(get("/api/v1/books/search")
+                            .param("sort", "price"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+        }
     }
 }
@@ -4,8 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kephas.bookstoreapi.dtos.CategoryDto;
 import com.kephas.bookstoreapi.entities.Category;
 import com.kephas.bookstoreapi.exceptions.ResourceNotFoundException;
-import com.kephas.bookstoreapi.mappers.CategoryMapper;
+import com.kephas.bookstoreapi.dtos.CategorySummaryDto;
+import com.kephas.bookstoreapi.dtos.CursorPage;
+import com.kephas.bookstoreapi.repositories.CatalogRevisionRepository;
+import com.kephas.bookstoreapi.services.BookService;
 import com.kephas.bookstoreapi.services.CategoryService;
+import com.kephas.bookstoreapi.services.CatalogVersion;
+import com.kephas.bookstoreapi.utils.CatalogHttpCache;
 import com.kephas.bookstoreapi.utils.JwtAuthenticationFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -26,6 +32,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CategoryController.class)
+@Import({CatalogHttpCache.class, CatalogVersion.class})
 @AutoConfigureMockMvc(addFilters = false)
 class CategoryControllerTest {
 
@@ -35,11 +42,14 @@ class CategoryControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @MockitoBean
+    private CatalogRevisionRepository catalogRevisionRepository;
+
     @MockitoBean
     private CategoryService categoryService;
 
     @MockitoBean
-    private CategoryMapper categoryMapper;
+    private BookService bookService;
 
     @MockitoBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
@@ -50,7 +60,7 @@ class CategoryControllerTest {
     @BeforeEach
     void setup() {
         categoryDto = new CategoryDto(null, "Fiction", "Fiction books", null);
-        category = new Category(null, "Fiction", "Fiction books", null);
+        category = new Category("Fiction", "Fiction books");
     }
 
     @Nested
@@ -59,12 +69,27 @@ class CategoryControllerTest {
         @Test
         @DisplayName("Should return 200 OK with category list")
         void shouldReturn200() throws Exception {
-            when(categoryService.getCategories()).thenReturn(List.of(category));
-            when(categoryMapper.toDto(any())).thenReturn(categoryDto);
+            when(categoryService.getCategories()).thenReturn(List.of(new CategorySummaryDto(UUID.randomUUID(), "Fiction", "Fiction books", 2)));
 
             mockMvc.perform(get("/api/v1/categories"))
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data").isArray())
+                    .andExpect(jsonPath("$.data[0].bookCount").value(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/categories/{id}/books")
+    class GetCategoryBooks {
+        @Test
+        @DisplayName("Should return a page of the category's books")
+        void shouldReturnPage() throws Exception {
+            UUID id = UUID.randomUUID();
+            when(bookService.getBooksByCategory(id, null, 20)).thenReturn(new CursorPage<>(List.of(), null));
+
+            mockMvc.perform(get("/api/v1/categories/" + id + "/books"))
+                    .andExpect(status().isOk())
                     .andExpect(jsonPath("$.data").isArray());
         }
     }
@@ -76,7 +101,7 @@ class CategoryControllerTest {
         @DisplayName("Should return 200 OK for valid ID")
         void shouldReturn200() throws Exception {
             UUID id = UUID.randomUUID();
-            when(categoryService.getOneCategory(id)).thenReturn(categoryDto);
+            when(categoryService.getOneCategory(id, true)).thenReturn(categoryDto);
 
             mockMvc.perform(get("/api/v1/categories/" + id))
                     .andExpect(status().isOk())
@@ -88,7 +113,7 @@ class CategoryControllerTest {
         @DisplayName("Should return 404 NotFound for missing category")
         void shouldReturn404() throws Exception {
             UUID id = UUID.randomUUID();
-            when(categoryService.getOneCategory(id)).thenThrow(new ResourceNotFoundException("Category not found"));
+            when(categoryService.getOneCategory(id, true)).thenThrow(new ResourceNotFoundException("Category not found"));
 
             mockMvc.perform(get("/api/v1/categories/" + id))
                     .andExpect(status().isNotFound())
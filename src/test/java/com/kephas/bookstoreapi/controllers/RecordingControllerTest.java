@@ -0,0 +1,90 @@
+package com.kephas.bookstoreapi.controllers;
+
+import com.kephas.bookstoreapi.exceptions.ResourceNotFoundException;
+import com.kephas.bookstoreapi.services.FlightRecorderService;
+import com.kephas.bookstoreapi.utils.JwtAuthenticationFilter;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RecordingController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class RecordingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private FlightRecorderService flightRecorderService;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Nested
+    @DisplayName("POST /api/v1/admin/recordings")
+    class StartRecording {
+
+        @Test
+        @DisplayName("Should return 201 with the recording name")
+        @WithMockUser(roles = "ADMIN")
+        void shouldStartRecording() throws Exception {
+            when(flightRecorderService.start("default")).thenReturn("bookstore-20261018-120000");
+
+            mockMvc.perform(post("/api/v1/admin/recordings").param("settings", "default"))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.data").value("bookstore-20261018-120000"));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/v1/admin/recordings/stop")
+    class StopRecording {
+
+        @Test
+        @DisplayName("Should stream the recording as a .jfr attachment")
+        @WithMockUser(roles = "ADMIN")
+        void shouldStreamRecording() throws Exception {
+            try (Recording recording = new Recording()) {
+                recording.setName("bookstore-20261018-120000");
+                when(flightRecorderService.stop()).thenReturn(recording);
+                doAnswer(invocation -> {
+                    invocation.getArgument(1, OutputStream.class).write("FLR".getBytes(StandardCharsets.US_ASCII));
+                    return null;
+                }).when(flightRecorderService).transfer(same(recording), any(OutputStream.class));
+
+                mockMvc.perform(post("/api/v1/admin/recordings/stop"))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string("Content-Disposition",
+                                "attachment; filename=\"bookstore-20261018-120000.jfr\""))
+                        .andExpect(content().bytes("FLR".getBytes(StandardCharsets.US_ASCII)));
+            }
+        }
+
+        @Test
+        @DisplayName("Should return 404 when no recording is in progress")
+        @WithMockUser(roles = "ADMIN")
+        void shouldReturnNotFound_WhenNoRecording() throws Exception {
+            when(flightRecorderService.stop()).thenThrow(new ResourceNotFoundException("No recording in progress"));
+
+            mockMvc.perform(post("/api/v1/admin/recordings/stop"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message").value("No recording in progress"));
+        }
+    }
+}
@@ -66,7 +66,7 @@ class UserControllerTest {
         @DisplayName("Should return 200 OK with user profile")
         @WithMockUser(username = "testuser", roles = "USER")
         void shouldReturnUserProfile() throws Exception {
-            when(userMapper.toDto(any(User.class))).thenReturn(userDtoResponse);
+            when(userMapper.toDto(any())).thenReturn(userDtoResponse);
 
             mockMvc.perform(get("/api/v1/user/profile"))
                     .andExpect(status().isOk())
@@ -81,8 +81,8 @@ class UserControllerTest {
         @DisplayName("Should update user details and return 200 OK")
         @WithMockUser(username = "testuser", roles = "USER")
         void shouldUpdateUserDetails() throws Exception {
-            when(userService.update(any(User.class), any(UserDtoRequest.class))).thenReturn(mockUser);
-            when(userMapper.toDto(any(User.class))).thenReturn(userDtoResponse);
+            when(userService.update(any(), any(UserDtoRequest.class))).thenReturn(mockUser);
+            when(userMapper.toDto(any())).thenReturn(userDtoResponse);
 
             mockMvc.perform(patch("/api/v1/user/")
                             .contentType(MediaType.APPLICATION_JSON)
@@ -100,7 +100,7 @@ class UserControllerTest {
         @DisplayName("Should change password successfully and return 200 OK")
         @WithMockUser(username = "testuser", roles = "USER")
         void shouldChangePasswordSuccessfully() throws Exception {
-            doNothing().when(userService).changePassword(any(User.class), any(UserDtoRequest.class));
+            doNothing().when(userService).changePassword(any(), any(UserDtoRequest.class));
 
             mockMvc.perform(post("/api/v1/user/change-password")
                             .contentType(MediaType.APPLICATION_JSON)
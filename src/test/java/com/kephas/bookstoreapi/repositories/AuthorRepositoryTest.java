@@ -1,11 +1,19 @@
 package com.kephas.bookstoreapi.repositories;
 
+import com.kephas.bookstoreapi.dtos.AuthorSummaryDto;
 import com.kephas.bookstoreapi.entities.Author;
+import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.entities.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,6 +25,15 @@ class AuthorRepositoryTest {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     @DisplayName("findAuthorByName should return author when exists")
     void findAuthorByName_ShouldReturnAuthor_WhenExists() {
@@ -39,4 +56,56 @@ class AuthorRepositoryTest {
 
         assertTrue(found.isEmpty());
     }
+
+    @Test
+    @DisplayName("findAllSummaries should report the stored book counts, including authors without books")
+    void findAllSummaries_ShouldCountBooks() {
+        Author kephas = authorRepository.save(new Author("Kephas", "Test biography"));
+        authorRepository.save(new Author("James", ""));
+        Category category = categoryRepository.save(new Category("Fiction", "Stories"));
+        bookRepository.save(new Book(null, "Book One", "ISBN1", new BigDecimal("10.0"), LocalDate.of(2023, 1, 1), "Desc", category, kephas));
+        bookRepository.save(new Book(null, "Book Two", "ISBN2", new BigDecimal("10.0"), LocalDate.of(2023, 1, 1), "Desc", category, kephas));
+        authorRepository.adjustBookCount(kephas.getId(), 2);
+
+        List<AuthorSummaryDto> summaries = authorRepository.findAllSummaries();
+
+        assertEquals(List.of("James", "Kephas"), summaries.stream().map(AuthorSummaryDto::name).toList());
+        assertEquals(List.of(0L, 2L), summaries.stream().map(AuthorSummaryDto::bookCount).toList());
+    }
+
+    @Test
+    @DisplayName("adjustBookCount should survive a later flush of a stale copy of the author")
+    void adjustBookCount_ShouldNotBeOverwrittenByEntityFlush() {
+        Author author = authorRepository.save(new Author("Kephas", "Test biography"));
+        entityManager.flush();
+
+        authorRepository.adjustBookCount(author.getId(), 3);
+        author.setBiography("Updated");
+        entityManager.flush();
+        entityManager.clear();
+
+        Author reloaded = authorRepository.findById(author.getId()).orElseThrow();
+        assertEquals(3, reloaded.getBookCount());
+        assertEquals("Updated", reloaded.getBiography());
+    }
+
+    @Test
+    @DisplayName("findWithBooksById should fetch books with their category, findById should leave them unloaded")
+    void findWithBooksById_ShouldFetchBooks() {
+        Author author = authorRepository.save(new Author("Kephas", "Test biography"));
+        Category category = categoryRepository.save(new Category("Fiction", "Stories"));
+        bookRepository.save(new Book(null, "Book One", "ISBN1", new BigDecimal("10.0"), LocalDate.of(2023, 1, 1), "Desc", category, author));
+        entityManager.flush();
+        entityManager.clear();
+        PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+
+        Author plain = authorRepository.findById(author.getId()).orElseThrow();
+        assertFalse(util.isLoaded(plain, "books"));
+        entityManager.clear();
+
+        Author withBooks = authorRepository.findWithBooksById(author.getId()).orElseThrow();
+        assertTrue(util.isLoaded(withBooks, "books"));
+        assertEquals(1, withBooks.getBooks().size());
+        assertTrue(util.isLoaded(withBooks.getBooks().get(0), "category"));
+    }
 }
@@ -1,18 +1,23 @@
 package com.kephas.bookstoreapi.repositories;
 
+import com.kephas.bookstoreapi.dtos.BookDto;
 import com.kephas.bookstoreapi.entities.Author;
 import com.kephas.bookstoreapi.entities.Book;
 import com.kephas.bookstoreapi.entities.Category;
+import jakarta.persistence.criteria.JoinType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -106,6 +111,27 @@ class BookRepositoryTest {
         assertEquals(1, count);
     }
 
+    @Test
+    @DisplayName("reassignAuthor should move every book of an author in one statement")
+    void reassignAuthor_ShouldMoveBooks() {
+        int updated = bookRepository.reassignAuthor(author1.getId(), author2);
+
+        assertEquals(2, updated);
+        assertEquals(0, bookRepository.countBooksByAuthor_Id(author1.getId()));
+        assertEquals(2, bookRepository.countBooksByAuthor_Id(author2.getId()));
+        assertEquals(author2.getId(), bookRepository.findById(book1.getId()).orElseThrow().getAuthor().getId());
+    }
+
+    @Test
+    @DisplayName("reassignCategory should move every book of a category in one statement")
+    void reassignCategory_ShouldMoveBooks() {
+        int updated = bookRepository.reassignCategory(category1.getId(), category2);
+
+        assertEquals(1, updated);
+        assertEquals(0, bookRepository.countBooksByCategory_Id(category1.getId()));
+        assertEquals(2, bookRepository.countBooksByCategory_Id(category2.getId()));
+    }
+
     @Test
     @DisplayName("existsBookByIsbn should return true if ISBN exists")
     void existsBookByIsbn_ShouldReturnTrue_WhenExists() {
@@ -118,4 +144,79 @@ class BookRepositoryTest {
     void existsBookByIsbn_ShouldReturnFalse_WhenNotExists() {
         assertFalse(bookRepository.existsBookByIsbn("NON_EXISTENT_ISBN"));
     }
+
+    @Test
+    @DisplayName("countUpTo should count matching books up to the limit")
+    void countUpTo_ShouldStopAtLimit() {
+        Specification<Book> byAuthor = (root, query, cb) -> cb.equal(root.get("author").get("id"), author1.getId());
+
+        assertEquals(2, bookRepository.countUpTo(byAuthor, 10));
+        assertEquals(1, bookRepository.countUpTo(byAuthor, 1));
+        assertEquals(2, bookRepository.countUpTo(Specification.allOf(), 10));
+    }
+
+    @Test
+    @DisplayName("findDtos should project books with author and category names in sort order")
+    void findDtos_ShouldProjectSortedBooks() {
+        List<BookDto> books = bookRepository.findDtos(Specification.allOf(), Sort.by(Sort.Direction.DESC, "title", "id"), 10);
+
+        assertEquals(2, books.size());
+        assertEquals("Book Two", books.get(0).title());
+        assertEquals("Author One", books.get(0).authorName());
+        assertEquals("Category Two", books.get(0).categoryName());
+        assertEquals(category2.getId(), books.get(0).categoryId());
+    }
+
+    @Test
+    @DisplayName("findDtos should page an author's books by id with a keyset predicate")
+    void findDtos_ShouldPageAuthorBooksById() {
+        Specification<Book> byAuthor = (root, query, cb) -> cb.equal(root.get("author").get("id"), author1.getId());
+        List<BookDto> first = bookRepository.findDtos(byAuthor, Sort.by("id"), 1);
+        UUID after = first.get(0).id();
+
+        List<BookDto> rest = bookRepository.findDtos(byAuthor.and((root, query, cb) -> cb.greaterThan(root.get("id"), after)), Sort.by("id"), 10);
+
+        assertEquals(book1.getId(), after);
+        assertEquals(List.of(book2.getId()), rest.stream().map(BookDto::id).toList());
+    }
+
+    @Test
+    @DisplayName("findDtos should reuse joins created by the specification")
+    void findDtos_ShouldApplyJoinedSpecificationAndLimit() {
+        Specification<Book> byCategory = (root, query, cb) ->
+                cb.equal(root.join("category", JoinType.LEFT).get("name"), "Category One");
+
+        List<BookDto> books = bookRepository.findDtos(byCategory, Sort.by("title"), 10);
+        assertEquals(1, books.size());
+        assertEquals("Book One", books.get(0).title());
+
+        assertEquals(1, bookRepository.findDtos(Specification.allOf(), Sort.by("title"), 1).size());
+    }
+
+    @Test
+    @DisplayName("findDtoById should return projected book or empty")
+    void findDtoById_ShouldReturnProjection() {
+        BookDto dto = bookRepository.findDtoById(book1.getId()).orElseThrow();
+
+        assertEquals("ISBN1", dto.isbn());
+        assertEquals(author1.getId(), dto.authorId());
+        assertEquals("Category One", dto.categoryName());
+        assertTrue(bookRepository.findDtoById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("New books should get time-ordered version 7 ids")
+    void save_ShouldAssignUuidV7() {
+        assertEquals(7, book1.getId().version());
+        assertTrue(book1.getId().toString().compareTo(book2.getId().toString()) < 0);
+    }
+
+    @Test
+    @DisplayName("streamAllDtos should stream every book as a projection")
+    void streamAllDtos_ShouldStreamCatalog() {
+        try (Stream<BookDto> books = bookRepository.streamAllDtos()) {
+            List<String> titles = books.map(BookDto::title).sorted().toList();
+            assertEquals(List.of("Book One", "Book Two"), titles);
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package com.kephas.bookstoreapi.repositories;
+
+import com.kephas.bookstoreapi.config.TrigramSearchConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every migration, including the PostgreSQL-only index scripts and the trigram search location, against a real
+ * PostgreSQL and lets Hibernate validate the entities against the result. Skipped where Docker is not available.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        // As in the main application.yaml, which the test resources shadow.
+        "spring.flyway.postgresql.transactional-lock=false",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "bookstore.search.engine=postgres"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TrigramSearchConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresMigrationTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrations_ShouldApplyAndLeaveValidIndexes() {
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from flyway_schema_history where not success", Integer.class));
+
+        List<String> indexes = jdbcTemplate.queryForList("""
+                select c.relname from pg_index i join pg_class c on c.oid = i.indexrelid
+                where i.indisvalid and c.relname like 'idx\\_%'
+                """, String.class);
+        assertTrue(indexes.containsAll(List.of(
+                "idx_authors_name", "idx_categories_name", "idx_books_author_id_id", "idx_books_category_id_id",
+                "idx_books_publication_date_id", "idx_books_title_id",
+                "idx_books_title_trgm", "idx_books_description_trgm", "idx_authors_name_trgm",
+                "idx_categories_name_trgm")), indexes.toString());
+    }
+}
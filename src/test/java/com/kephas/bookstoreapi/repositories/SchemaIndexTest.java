@@ -0,0 +1,34 @@
+package com.kephas.bookstoreapi.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks with {@code EXPLAIN} that the lookups behind search, paging and delete are answered from the declared indexes.
+ */
+@DataJpaTest
+class SchemaIndexTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "author by name          | select id from authors where name = 'Unknown'                                                                              | IDX_AUTHORS_NAME",
+            "category by name        | select id from categories where name = 'Uncategorized'                                                                     | IDX_CATEGORIES_NAME",
+            "books of author         | select id from books where author_id = random_uuid() order by id                                                           | IDX_BOOKS_AUTHOR_ID_ID",
+            "books of category       | select id from books where category_id = random_uuid() order by id                                                         | IDX_BOOKS_CATEGORY_ID_ID",
+            "year filter             | select id from books where publication_date between date '2020-01-01' and date '2020-12-31' order by publication_date, id  | IDX_BOOKS_PUBLICATION_DATE_ID",
+            "title keyset            | select id from books where title > 'M' order by title, id                                                                  | IDX_BOOKS_TITLE_ID"
+    })
+    void query_ShouldUseIndex(String name, String sql, String index) {
+        String plan = String.valueOf(entityManager.createNativeQuery("explain " + sql).getSingleResult());
+
+        assertTrue(plan.toUpperCase().contains(index), () -> name + " does not use " + index + ":\n" + plan);
+    }
+}
@@ -1,8 +1,9 @@
 package com.kephas.bookstoreapi.services;
 
 import com.kephas.bookstoreapi.dtos.AuthorDto;
+import com.kephas.bookstoreapi.dtos.AuthorSummaryDto;
+import com.kephas.bookstoreapi.dtos.BookRef;
 import com.kephas.bookstoreapi.entities.Author;
-import com.kephas.bookstoreapi.entities.Book;
 import com.kephas.bookstoreapi.exceptions.ResourceNotFoundException;
 import com.kephas.bookstoreapi.mappers.AuthorMapper;
 import com.kephas.bookstoreapi.repositories.AuthorRepository;
@@ -15,10 +16,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -40,6 +40,15 @@ class AuthorServiceTest {
     @Mock
     private AuthorMapper authorMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private AuthorService authorService;
 
@@ -57,10 +66,12 @@ class AuthorServiceTest {
         @Test
         @DisplayName("Should return a list of authors")
         void getAuthors_ShouldReturnList_WhenAuthorsExist(){
-            when(authorRepository.findAll()).thenReturn(mockAuthors);
-            List<Author> authors = authorService.getAuthors();
+            when(authorRepository.findAllSummaries()).thenReturn(List.of(
+                    new AuthorSummaryDto(UUID.randomUUID(), "Kephas", "", 2),
+                    new AuthorSummaryDto(UUID.randomUUID(), "James", "", 0)));
+            List<AuthorSummaryDto> authors = authorService.getAuthors();
             assertEquals(2, authors.size());
-            verify(authorRepository, times(1)).findAll();
+            verify(authorRepository, times(1)).findAllSummaries();
         }
     }
 
@@ -73,11 +84,23 @@ class AuthorServiceTest {
         @Test
         @DisplayName("Should return a single author")
         void getAuthors_ShouldReturnAuthor_WhenAuthorExist(){
+            Author firstAuthor = mockAuthors.get(0);
+            when(authorRepository.findWithBooksById(firstAuthor.getId())).thenReturn(Optional.of(firstAuthor));
+            when(authorMapper.toDto(firstAuthor, true)).thenReturn(new AuthorDto(firstAuthor.getId(), "Kephas", "", List.of()));
+            AuthorDto author = authorService.getOneAuthor(firstAuthor.getId(), true);
+            assertEquals("Kephas", author.name());
+            verify(authorRepository, times(1)).findWithBooksById(firstAuthor.getId());
+        }
+
+        @Test
+        @DisplayName("Should load the author alone when books are excluded")
+        void getOneAuthor_ShouldSkipBooks_WhenExcluded(){
             Author firstAuthor = mockAuthors.get(0);
             when(authorRepository.findById(firstAuthor.getId())).thenReturn(Optional.of(firstAuthor));
-            Author author = authorService.getOneAuthor(firstAuthor.getId());
-            assertEquals("Kephas", author.getName());
-            verify(authorRepository, times(1)).findById(firstAuthor.getId());
+            when(authorMapper.toDto(firstAuthor, false)).thenReturn(new AuthorDto(firstAuthor.getId(), "Kephas", "", null));
+            AuthorDto author = authorService.getOneAuthor(firstAuthor.getId(), false);
+            assertNull(author.books());
+            verify(authorRepository, never()).findWithBooksById(any());
         }
 
 
@@ -85,10 +108,10 @@ class AuthorServiceTest {
         @DisplayName("Should throw error when author does not exist")
         void getAuthors_ShouldThrowError_WhenAuthorDoesNotExist(){
             UUID mockUUID = UUID.randomUUID();
-            when(authorRepository.findById(mockUUID)).thenReturn(Optional.empty());
-            ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, ()-> authorService.getOneAuthor(mockUUID));
+            when(authorRepository.findWithBooksById(mockUUID)).thenReturn(Optional.empty());
+            ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, ()-> authorService.getOneAuthor(mockUUID, true));
             assertEquals("Author with id: "+  mockUUID+ " does not exist", ex.getMessage());
-            verify(authorRepository, times(1)).findById(mockUUID);
+            verify(authorRepository, times(1)).findWithBooksById(mockUUID);
         }
     }
 
@@ -157,38 +180,42 @@ class AuthorServiceTest {
         @Test
         @DisplayName("Should delete author when no books assigned")
         void deleteAuthor_ShouldDelete_WhenNoBooksAssigned() {
-            Author author = mockAuthors.get(1);
-            UUID id = author.getId();
-
+            UUID id = mockAuthors.get(1).getId();
             when(authorRepository.existsById(id)).thenReturn(true);
-            when(bookRepository.countBooksByAuthor_Id(id)).thenReturn(0);
+            Author unknown = new Author("Unknown", "Author information is currently unavailable...");
+            when(authorRepository.findAuthorByName("Unknown")).thenReturn(Optional.of(unknown));
 
             authorService.deleteAuthor(id);
 
+            verify(bookRepository, times(1)).reassignAuthor(id, unknown);
+            verify(authorRepository, never()).adjustBookCount(any(), anyLong());
+            verify(eventPublisher, never()).publishEvent(any());
             verify(authorRepository, times(1)).deleteById(id);
         }
 
         @Test
-        @DisplayName("Should reassign books to Unknown and delete author")
+        @DisplayName("Should reassign books to Unknown and delete author, whatever its book count says")
         void deleteAuthor_ShouldReassignBooks_WhenBooksAssigned() {
             Author author = mockAuthors.get(1);
             UUID id = author.getId();
-            Book book = new Book(UUID.randomUUID(), "Test Book", "3444444eroerg", new BigDecimal(45.00), LocalDate.now(), "This is a test", null, null);
-
-            List<Book> books = List.of(book);
-
+            author.setBookCount(0);
             when(authorRepository.existsById(id)).thenReturn(true);
-            when(bookRepository.countBooksByAuthor_Id(id)).thenReturn(1);
-            when(bookRepository.findBooksByAuthor_Id(id)).thenReturn(books);
+            BookRef ref = new BookRef(UUID.randomUUID(), id, UUID.randomUUID());
+            when(bookRepository.findRefsByAuthorId(id)).thenReturn(List.of(ref));
 
             Author unknown = new Author("Unknown", "Author information is currently unavailable...");
             when(authorRepository.findAuthorByName("Unknown")).thenReturn(Optional.of(unknown));
 
+            when(bookRepository.reassignAuthor(id, unknown)).thenReturn(1);
+
             authorService.deleteAuthor(id);
 
-            assertEquals(unknown, book.getAuthor());
-            verify(bookRepository, times(1)).saveAll(books);
+            verify(bookRepository, times(1)).reassignAuthor(id, unknown);
+            verify(authorRepository, times(1)).adjustBookCount(unknown.getId(), 1);
+            verify(bookRepository, never()).saveAll(any());
             verify(authorRepository, times(1)).deleteById(id);
+            verify(catalogCache).evictBook(ref);
+            verify(catalogCache, times(2)).evictAuthor(any());
         }
 
 
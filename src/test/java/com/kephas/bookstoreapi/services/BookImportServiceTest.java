@@ -0,0 +1,135 @@
+package com.kephas.bookstoreapi.services;
+
+import com.kephas.bookstoreapi.dtos.BookImportError;
+import com.kephas.bookstoreapi.dtos.BookImportResult;
+import com.kephas.bookstoreapi.entities.Author;
+import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.entities.Category;
+import com.kephas.bookstoreapi.mappers.BookMapper;
+import com.kephas.bookstoreapi.repositories.AuthorRepository;
+import com.kephas.bookstoreapi.repositories.BookRepository;
+import com.kephas.bookstoreapi.repositories.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Import({BookImportService.class, BookMapper.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@DisplayName("BookImportService tests")
+class BookImportServiceTest {
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @MockitoBean
+    private CatalogVersion catalogVersion;
+
+    @MockitoBean
+    private CatalogCache catalogCache;
+
+    private Author author;
+    private Category category;
+
+    @BeforeEach
+    void setup() {
+        author = authorRepository.save(new Author("Author One", "Bio One"));
+        category = categoryRepository.save(new Category("Category One", "Desc One"));
+        bookRepository.save(new Book(null, "Existing", "ISBN-EXISTING", new BigDecimal("10.00"),
+                LocalDate.of(2020, 1, 1), "An existing book", category, author));
+    }
+
+    @Test
+    @DisplayName("Should import valid JSON rows and report the invalid ones")
+    void importJson_ShouldReportPerRowErrors() throws Exception {
+        String json = "[" + String.join(",",
+                row("Good One", "ISBN-1", author.getId(), category.getId()),
+                row("Already there", "ISBN-EXISTING", author.getId(), category.getId()),
+                row("Unknown author", "ISBN-2", UUID.randomUUID(), category.getId()),
+                row("", "ISBN-3", author.getId(), category.getId()),
+                row("Repeated", "ISBN-1", author.getId(), category.getId()),
+                row("Good Two", "ISBN-4", author.getId(), category.getId())
+        ) + "]";
+
+        BookImportResult result = bookImportService.importJson(stream(json));
+
+        assertEquals(2, result.imported());
+        assertEquals(4, result.failed());
+        assertEquals(List.of(2L, 3L, 4L, 5L), result.errors().stream().map(BookImportError::row).sorted().toList());
+        assertTrue(bookRepository.existsBookByIsbn("ISBN-1"));
+        assertTrue(bookRepository.existsBookByIsbn("ISBN-4"));
+        assertFalse(bookRepository.existsBookByIsbn("ISBN-2"));
+        assertEquals(3, bookRepository.count());
+        assertEquals(2, authorRepository.findById(author.getId()).orElseThrow().getBookCount());
+        assertEquals(2, categoryRepository.findById(category.getId()).orElseThrow().getBookCount());
+        verify(catalogVersion).bump();
+    }
+
+    @Test
+    @DisplayName("Should import CSV rows using the header for column names")
+    void importCsv_ShouldImportRows() throws Exception {
+        String csv = """
+                title,isbn,price,publicationDate,description,authorId,categoryId
+                CSV Book,ISBN-CSV,12.50,2021-06-01,Imported from a CSV file,%s,%s
+                Bad Date,ISBN-BAD,12.50,not-a-date,Imported from a CSV file,%s,%s
+                """.formatted(author.getId(), category.getId(), author.getId(), category.getId());
+
+        BookImportResult result = bookImportService.importCsv(stream(csv));
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals("ISBN-BAD", result.errors().get(0).isbn());
+        assertEquals(new BigDecimal("12.50"), bookRepository.findAll().stream()
+                .filter(book -> book.getIsbn().equals("ISBN-CSV")).findFirst().orElseThrow().getPrice());
+    }
+
+    @Test
+    @DisplayName("Should stop at malformed JSON and keep rows imported before it")
+    void importJson_ShouldStop_WhenMalformed() throws Exception {
+        String json = "[" + row("Good One", "ISBN-1", author.getId(), category.getId()) + ", {\"title\": ]";
+
+        BookImportResult result = bookImportService.importJson(stream(json));
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.failed());
+        assertTrue(result.errors().get(0).message().startsWith("Malformed input"));
+    }
+
+    private static String row(String title, String isbn, UUID authorId, UUID categoryId) {
+        return """
+                {"title": "%s", "isbn": "%s", "price": 9.99, "publicationDate": "2022-02-02",
+                 "description": "A description that is long enough", "authorId": "%s", "categoryId": "%s"}
+                """.formatted(title, isbn, authorId, categoryId);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,28 +1,43 @@
 package com.kephas.bookstoreapi.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.BookRef;
+import com.kephas.bookstoreapi.dtos.BookSearchCriteria;
+import com.kephas.bookstoreapi.dtos.CursorPage;
 import com.kephas.bookstoreapi.entities.Author;
 import com.kephas.bookstoreapi.entities.Book;
 import com.kephas.bookstoreapi.entities.Category;
+import com.kephas.bookstoreapi.exceptions.BadRequestException;
 import com.kephas.bookstoreapi.exceptions.ResourceNotFoundException;
 import com.kephas.bookstoreapi.exceptions.UniqueConstraintViolationException;
 import com.kephas.bookstoreapi.mappers.BookMapper;
 import com.kephas.bookstoreapi.repositories.AuthorRepository;
 import com.kephas.bookstoreapi.repositories.BookRepository;
 import com.kephas.bookstoreapi.repositories.CategoryRepository;
+import com.kephas.bookstoreapi.services.search.BookSearchEngine;
+import com.kephas.bookstoreapi.utils.BookCursor;
+import com.kephas.bookstoreapi.utils.BookExportFormat;
+import com.kephas.bookstoreapi.utils.BookSort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -44,6 +59,21 @@ class BookServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private BookSearchEngine bookSearchEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private BookService bookService;
 
@@ -86,15 +116,89 @@ class BookServiceTest {
     @DisplayName("getBooks() test")
     class GetBooksTest {
         @Test
-        @DisplayName("Should return all books")
+        @DisplayName("Should return first page without cursor when all books fit")
         void getBooks_ShouldReturnList() {
-            when(bookRepository.findAll()).thenReturn(List.of(book));
+            when(bookSearchEngine.search(any(BookSearchCriteria.class), any(BookSort.class), any(Sort.Direction.class), any(), anyInt())).thenReturn(List.of(bookDto));
+
+            CursorPage<BookDto> result = bookService.getBooks(null, 20);
+
+            assertEquals(1, result.items().size());
+            assertEquals("Test Book", result.items().get(0).title());
+            assertNull(result.nextCursor());
+            verify(bookSearchEngine, times(1)).search(any(BookSearchCriteria.class), any(BookSort.class), any(Sort.Direction.class), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should return next cursor pointing at last book of the page")
+        void getBooks_ShouldReturnNextCursor_WhenMoreBooksExist() {
+            BookDto next = new BookDto(UUID.randomUUID(), "Zed", "999", BigDecimal.ONE, LocalDate.of(2021, 1, 1), "Some description", null, null, null, null);
+            when(bookSearchEngine.search(any(BookSearchCriteria.class), any(BookSort.class), any(Sort.Direction.class), any(), eq(2))).thenReturn(List.of(bookDto, next));
+
+            CursorPage<BookDto> result = bookService.getBooks(null, 1);
+
+            assertEquals(List.of(bookDto), result.items());
+            BookCursor cursor = BookCursor.decode(result.nextCursor());
+            assertEquals(book.getTitle(), cursor.key());
+            assertEquals(book.getId(), cursor.id());
+        }
+
+        @Test
+        @DisplayName("Should throw when cursor is malformed")
+        void getBooks_ShouldThrow_WhenCursorInvalid() {
+            assertThrows(BadRequestException.class, () -> bookService.getBooks("not-a-cursor", 20));
+            verify(bookSearchEngine, never()).search(any(), any(), any(), any(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("getBooksByAuthor() test")
+    class GetBooksByAuthorTest {
+        @Test
+        @DisplayName("Should return a cursor that resumes after the last book of the page")
+        void getBooksByAuthor_ShouldResumeFromCursor() {
+            UUID authorId = UUID.randomUUID();
+            BookDto next = new BookDto(UUID.randomUUID(), "Zed", "999", BigDecimal.ONE, LocalDate.of(2021, 1, 1), "Some description", null, null, authorId, null);
+            when(authorRepository.existsById(authorId)).thenReturn(true);
+            when(bookRepository.findDtos(any(), eq(Sort.by("id")), eq(2))).thenReturn(List.of(bookDto, next), List.of(next));
+
+            CursorPage<BookDto> first = bookService.getBooksByAuthor(authorId, null, 1);
+            CursorPage<BookDto> second = bookService.getBooksByAuthor(authorId, first.nextCursor(), 1);
+
+            assertEquals(List.of(bookDto), first.items());
+            BookCursor cursor = BookCursor.decode(first.nextCursor());
+            assertEquals(BookSort.ID, cursor.sort());
+            assertEquals(bookDto.id(), cursor.id());
+            assertEquals(List.of(next), second.items());
+            assertNull(second.nextCursor());
+        }
+
+        @Test
+        @DisplayName("Should throw when the author does not exist")
+        void getBooksByAuthor_ShouldThrow_WhenAuthorMissing() {
+            UUID authorId = UUID.randomUUID();
+            when(authorRepository.existsById(authorId)).thenReturn(false);
+
+            assertThrows(ResourceNotFoundException.class, () -> bookService.getBooksByAuthor(authorId, null, 20));
+            verify(bookRepository, never()).findDtos(any(), any(), anyInt());
+        }
 
-            List<Book> result = bookService.getBooks();
+        @Test
+        @DisplayName("Should throw when cursor is malformed")
+        void getBooksByAuthor_ShouldThrow_WhenCursorInvalid() {
+            UUID authorId = UUID.randomUUID();
+            when(authorRepository.existsById(authorId)).thenReturn(true);
+
+            assertThrows(BadRequestException.class, () -> bookService.getBooksByAuthor(authorId, "not-a-cursor", 20));
+        }
 
-            assertEquals(1, result.size());
-            assertEquals("Test Book", result.get(0).getTitle());
-            verify(bookRepository, times(1)).findAll();
+        @Test
+        @DisplayName("Should throw when cursor was issued for a search")
+        void getBooksByAuthor_ShouldThrow_WhenCursorFromSearch() {
+            UUID authorId = UUID.randomUUID();
+            when(authorRepository.existsById(authorId)).thenReturn(true);
+            String cursor = BookCursor.of(BookSort.TITLE, Sort.Direction.ASC, bookDto).encode();
+
+            assertThrows(BadRequestException.class, () -> bookService.getBooksByAuthor(authorId, cursor, 20));
         }
     }
 
@@ -114,6 +218,9 @@ class BookServiceTest {
             assertEquals(author, book.getAuthor());
             assertEquals(category, book.getCategory());
             verify(bookRepository, times(1)).save(book);
+            verify(authorRepository).adjustBookCount(author.getId(), 1);
+            verify(categoryRepository).adjustBookCount(category.getId(), 1);
+            verify(catalogVersion).bump();
         }
 
         @Test
@@ -154,23 +261,23 @@ class BookServiceTest {
         @DisplayName("Should return book DTO")
         void getBook_ShouldReturn_WhenExists() {
             UUID id = book.getId();
-            when(bookRepository.findById(id)).thenReturn(Optional.of(book));
-            when(bookMapper.toDto(book)).thenReturn(bookDto);
+            when(bookRepository.findDtoById(id)).thenReturn(Optional.of(bookDto));
 
             BookDto result = bookService.getBook(id);
 
             assertEquals("Test Book", result.title());
-            verify(bookRepository, times(1)).findById(id);
+            verify(bookRepository, times(1)).findDtoById(id);
+            verify(bookRepository, never()).findById(any());
         }
 
         @Test
         @DisplayName("Should throw when book not found")
         void getBook_ShouldThrow_WhenNotFound() {
             UUID id = UUID.randomUUID();
-            when(bookRepository.findById(id)).thenReturn(Optional.empty());
+            when(bookRepository.findDtoById(id)).thenReturn(Optional.empty());
 
             assertThrows(ResourceNotFoundException.class, () -> bookService.getBook(id));
-            verify(bookRepository, times(1)).findById(id);
+            verify(bookRepository, times(1)).findDtoById(id);
         }
     }
 
@@ -181,10 +288,58 @@ class BookServiceTest {
         @DisplayName("Should delete book by id")
         void deleteBook_ShouldDelete() {
             UUID id = book.getId();
+            when(bookRepository.findById(id)).thenReturn(Optional.of(book));
 
             bookService.deleteBook(id);
 
-            verify(bookRepository, times(1)).deleteById(id);
+            verify(bookRepository, times(1)).delete(book);
+            verify(authorRepository).adjustBookCount(author.getId(), -1);
+            verify(categoryRepository).adjustBookCount(category.getId(), -1);
+            verify(catalogCache).evictBook(new BookRef(id, author.getId(), category.getId()));
+        }
+
+        @Test
+        @DisplayName("Should do nothing when book does not exist")
+        void deleteBook_ShouldNoop_WhenBookMissing() {
+            UUID id = UUID.randomUUID();
+            when(bookRepository.findById(id)).thenReturn(Optional.empty());
+
+            bookService.deleteBook(id);
+
+            verify(bookRepository, never()).delete(any(Book.class));
+            verifyNoInteractions(catalogCache);
+        }
+    }
+
+    @Nested
+    @DisplayName("exportBooks() test")
+    class ExportBooksTest {
+        @Test
+        @DisplayName("Should write one JSON document per line for NDJSON")
+        void exportBooks_ShouldWriteNdjson() throws Exception {
+            when(bookRepository.streamAllDtos()).thenReturn(Stream.of(bookDto, bookDto));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            bookService.exportBooks(BookExportFormat.NDJSON, out);
+
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertEquals(2, lines.length);
+            assertEquals("Test Book", objectMapper.readTree(lines[0]).get("title").asText());
+            assertEquals("1234567890", objectMapper.readTree(lines[1]).get("isbn").asText());
+        }
+
+        @Test
+        @DisplayName("Should write a single JSON array for JSON")
+        void exportBooks_ShouldWriteJsonArray() throws Exception {
+            when(bookRepository.streamAllDtos()).thenReturn(Stream.of(bookDto));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            bookService.exportBooks(BookExportFormat.JSON, out);
+
+            var json = objectMapper.readTree(out.toByteArray());
+            assertTrue(json.isArray());
+            assertEquals(1, json.size());
+            assertEquals("1234567890", json.get(0).get("isbn").asText());
         }
     }
 
@@ -219,6 +374,62 @@ class BookServiceTest {
             assertEquals("0987654321", book.getIsbn());
             assertEquals("Updated desc", book.getDescription());
             verify(bookRepository, times(1)).save(book);
+            verify(catalogCache, atLeastOnce()).evictBook(new BookRef(id, author.getId(), category.getId()));
+            verify(authorRepository, never()).adjustBookCount(any(), anyLong());
+            verify(categoryRepository, never()).adjustBookCount(any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should move the book count when the author changes")
+        void updateBook_ShouldMoveBookCount_WhenAuthorChanges() {
+            UUID id = book.getId();
+            UUID previousAuthorId = UUID.randomUUID();
+            author.setId(previousAuthorId);
+            Author newAuthor = new Author("New Author", "Bio");
+            newAuthor.setId(UUID.randomUUID());
+            BookDto updatedDto = new BookDto(id, "Updated Title", "0987654321", BigDecimal.valueOf(20.99), LocalDate.of(2022, 5, 5),
+                    "Updated desc", category.getId(), category.getName(), newAuthor.getId(), newAuthor.getName());
+
+            when(bookRepository.findById(id)).thenReturn(Optional.of(book));
+            when(authorRepository.findById(newAuthor.getId())).thenReturn(Optional.of(newAuthor));
+            when(categoryRepository.findById(updatedDto.categoryId())).thenReturn(Optional.of(category));
+
+            bookService.updateBook(id, updatedDto);
+
+            verify(authorRepository).adjustBookCount(previousAuthorId, -1);
+            verify(authorRepository).adjustBookCount(newAuthor.getId(), 1);
+            verify(categoryRepository, never()).adjustBookCount(any(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should adjust the lower id first whichever way the book moves")
+        void updateBook_ShouldAdjustCountsInIdOrder() {
+            UUID id = book.getId();
+            UUID lowerId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+            UUID higherId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+            Category lower = new Category("Lower", "Desc");
+            lower.setId(lowerId);
+            Category higher = new Category("Higher", "Desc");
+            higher.setId(higherId);
+            when(bookRepository.findById(id)).thenReturn(Optional.of(book));
+            when(authorRepository.findById(author.getId())).thenReturn(Optional.of(author));
+            when(categoryRepository.findById(lowerId)).thenReturn(Optional.of(lower));
+            when(categoryRepository.findById(higherId)).thenReturn(Optional.of(higher));
+            InOrder inOrder = inOrder(categoryRepository);
+
+            book.setCategory(lower);
+            bookService.updateBook(id, updatedDto(id, higherId));
+            inOrder.verify(categoryRepository).adjustBookCount(lowerId, -1);
+            inOrder.verify(categoryRepository).adjustBookCount(higherId, 1);
+
+            bookService.updateBook(id, updatedDto(id, lowerId));
+            inOrder.verify(categoryRepository).adjustBookCount(lowerId, 1);
+            inOrder.verify(categoryRepository).adjustBookCount(higherId, -1);
+        }
+
+        private BookDto updatedDto(UUID id, UUID categoryId) {
+            return new BookDto(id, "Updated Title", "0987654321", BigDecimal.valueOf(20.99), LocalDate.of(2022, 5, 5),
+                    "Updated desc", categoryId, null, author.getId(), author.getName());
         }
 
         @Test
@@ -256,25 +467,78 @@ class BookServiceTest {
     @DisplayName("searchBooks() test")
     class SearchBooksTest {
         @Test
-        @DisplayName("Should return all books when no filters provided")
+        @DisplayName("Should return a page of all books when no filters provided")
         void searchBooks_ShouldReturnAll_WhenNoFilters() {
-            when(bookRepository.findAll()).thenReturn(List.of(book));
+            when(bookSearchEngine.search(any(BookSearchCriteria.class), any(BookSort.class), any(Sort.Direction.class), any(), anyInt())).thenReturn(List.of(bookDto));
 
-            List<Book> result = bookService.searchBooks(null, null, null, null);
+            CursorPage<BookDto> result = bookService.searchBooks(BookSearchCriteria.none(), BookSort.TITLE, Sort.Direction.ASC, null, 20, false);
 
-            assertEquals(1, result.size());
-            verify(bookRepository, times(1)).findAll();
+            assertEquals(1, result.items().size());
+            assertNull(result.approximateTotal());
+            verify(bookSearchEngine, times(1)).search(any(BookSearchCriteria.class), any(BookSort.class), any(Sort.Direction.class), any(), anyInt());
+            verify(bookSearchEngine, never()).countUpTo(any(), anyInt());
         }
 
         @Test
         @DisplayName("Should apply filters and return matching books")
         void searchBooks_ShouldReturnFiltered_WhenFiltersProvided() {
-            when(bookRepository.findAll(any(Specification.class))).thenReturn(List.of(book));
+            when(bookSearchEngine.search(any(BookSearchCriteria.class), any(BookSort.class), any(Sort.Direction.class), any(), anyInt())).thenReturn(List.of(bookDto));
+
+            BookSearchCriteria criteria = new BookSearchCriteria(null, "Test", "Test Author", "Fiction", 2020);
+            CursorPage<BookDto> result = bookService.searchBooks(criteria, BookSort.TITLE, Sort.Direction.ASC, null, 20, false);
+
+            assertEquals(1, result.items().size());
+            verify(bookSearchEngine, times(1)).search(criteria, BookSort.TITLE, Sort.Direction.ASC, null, 21);
+        }
+
+        @Test
+        @DisplayName("Should include capped total only when requested")
+        void searchBooks_ShouldIncludeTotal_WhenRequested() {
+            when(bookSearchEngine.search(any(BookSearchCriteria.class), any(BookSort.class), any(Sort.Direction.class), any(), anyInt())).thenReturn(List.of(bookDto));
+            when(bookSearchEngine.countUpTo(any(BookSearchCriteria.class), eq(1001))).thenReturn(1L);
+
+            CursorPage<BookDto> result = bookService.searchBooks(BookSearchCriteria.none(), BookSort.TITLE, Sort.Direction.ASC, null, 20, true);
 
-            List<Book> result = bookService.searchBooks("Test", "Test Author", "Fiction", 2020);
+            assertEquals(1L, result.approximateTotal());
+            assertFalse(result.totalCapped());
+        }
+
+        @Test
+        @DisplayName("Should flag a total that stopped at the cap")
+        void searchBooks_ShouldFlagCappedTotal() {
+            when(bookSearchEngine.search(any(BookSearchCriteria.class), any(BookSort.class), any(Sort.Direction.class), any(), anyInt())).thenReturn(List.of(bookDto));
+            when(bookSearchEngine.countUpTo(any(BookSearchCriteria.class), eq(1001))).thenReturn(1001L, 1000L);
+
+            CursorPage<BookDto> capped = bookService.searchBooks(BookSearchCriteria.none(), BookSort.TITLE, Sort.Direction.ASC, null, 20, true);
+            CursorPage<BookDto> exact = bookService.searchBooks(BookSearchCriteria.none(), BookSort.TITLE, Sort.Direction.ASC, null, 20, true);
+
+            assertEquals(1000L, capped.approximateTotal());
+            assertTrue(capped.totalCapped());
+            assertEquals(1000L, exact.approximateTotal());
+            assertFalse(exact.totalCapped());
+        }
+
+        @Test
+        @DisplayName("Should encode sort and direction in next cursor")
+        void searchBooks_ShouldReturnCursorForSort() {
+            BookDto older = new BookDto(UUID.randomUUID(), "Old", "111", BigDecimal.ONE, LocalDate.of(1999, 1, 1), "Some description", null, null, null, null);
+            when(bookSearchEngine.search(any(BookSearchCriteria.class), any(BookSort.class), any(Sort.Direction.class), any(), anyInt())).thenReturn(List.of(bookDto, older));
+
+            CursorPage<BookDto> result = bookService.searchBooks(BookSearchCriteria.none(), BookSort.PUBLICATION_DATE, Sort.Direction.DESC, null, 1, false);
+
+            BookCursor cursor = BookCursor.decode(result.nextCursor());
+            assertEquals(BookSort.PUBLICATION_DATE, cursor.sort());
+            assertEquals(Sort.Direction.DESC, cursor.direction());
+            assertEquals("2020-01-01", cursor.key());
+        }
+
+        @Test
+        @DisplayName("Should throw when cursor was issued for another sort")
+        void searchBooks_ShouldThrow_WhenCursorSortMismatch() {
+            String cursor = BookCursor.of(BookSort.TITLE, Sort.Direction.ASC, bookDto).encode();
 
-            assertEquals(1, result.size());
-            verify(bookRepository, times(1)).findAll(any(Specification.class));
+            assertThrows(BadRequestException.class, () ->
+                    bookService.searchBooks(BookSearchCriteria.none(), BookSort.PUBLICATION_DATE, Sort.Direction.ASC, cursor, 20, false));
         }
     }
 }
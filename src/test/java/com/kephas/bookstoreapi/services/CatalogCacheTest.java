@@ -0,0 +1,96 @@
+package com.kephas.bookstoreapi.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kephas.bookstoreapi.config.CacheConfig;
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.BookRef;
+import com.kephas.bookstoreapi.mappers.BookMapper;
+import com.kephas.bookstoreapi.repositories.AuthorRepository;
+import com.kephas.bookstoreapi.repositories.BookRepository;
+import com.kephas.bookstoreapi.repositories.CatalogRevisionRepository;
+import com.kephas.bookstoreapi.repositories.CategoryRepository;
+import com.kephas.bookstoreapi.services.search.BookSearchEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CacheConfig.class, CatalogCache.class, CatalogVersion.class, BookService.class})
+@DisplayName("Catalog cache tests")
+class CatalogCacheTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private CatalogRevisionRepository catalogRevisionRepository;
+
+    @MockitoBean
+    private BookRepository bookRepository;
+
+    @MockitoBean
+    private BookMapper bookMapper;
+
+    @MockitoBean
+    private AuthorRepository authorRepository;
+
+    @MockitoBean
+    private CategoryRepository categoryRepository;
+
+    @MockitoBean
+    private BookSearchEngine bookSearchEngine;
+
+    @MockitoBean
+    private ObjectMapper objectMapper;
+
+    private BookDto bookDto;
+
+    @BeforeEach
+    void setup() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        bookDto = new BookDto(UUID.randomUUID(), "Cached", "1234567890", BigDecimal.TEN, LocalDate.of(2020, 1, 1),
+                "desc", UUID.randomUUID(), "Fiction", UUID.randomUUID(), "Kephas");
+    }
+
+    @Test
+    @DisplayName("getBook() should only query the repository once")
+    void getBook_ShouldReadThrough() {
+        when(bookRepository.findDtoById(bookDto.id())).thenReturn(Optional.of(bookDto));
+
+        assertEquals(bookDto, bookService.getBook(bookDto.id()));
+        assertEquals(bookDto, bookService.getBook(bookDto.id()));
+
+        verify(bookRepository, times(1)).findDtoById(bookDto.id());
+    }
+
+    @Test
+    @DisplayName("evictBook() should drop the book and the author and category entries that embed it")
+    void evictBook_ShouldEvictRelatedEntries() {
+        cacheManager.getCache(CacheConfig.BOOKS).put(bookDto.id(), bookDto);
+        cacheManager.getCache(CacheConfig.AUTHORS).put(bookDto.authorId(), "author");
+        cacheManager.getCache(CacheConfig.CATEGORIES).put(bookDto.categoryId(), "category");
+
+        catalogCache.evictBook(new BookRef(bookDto.id(), bookDto.authorId(), bookDto.categoryId()));
+
+        assertNull(cacheManager.getCache(CacheConfig.BOOKS).get(bookDto.id()));
+        assertNull(cacheManager.getCache(CacheConfig.AUTHORS).get(bookDto.authorId()));
+        assertNull(cacheManager.getCache(CacheConfig.CATEGORIES).get(bookDto.categoryId()));
+    }
+}
@@ -0,0 +1,94 @@
+package com.kephas.bookstoreapi.services;
+
+import com.kephas.bookstoreapi.entities.CatalogRevision;
+import com.kephas.bookstoreapi.repositories.CatalogRevisionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogVersion unit tests")
+class CatalogVersionTest {
+
+    @Mock
+    private CatalogRevisionRepository catalogRevisionRepository;
+
+    @InjectMocks
+    private CatalogVersion catalogVersion;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read the version from the catalog_revision row")
+    void current_ShouldReadRow() {
+        Instant lastModified = Instant.parse("2026-01-01T00:00:00Z");
+        when(catalogRevisionRepository.findById(CatalogVersion.ID))
+                .thenReturn(Optional.of(new CatalogRevision(CatalogVersion.ID, 7, lastModified)));
+
+        CatalogVersion.Snapshot snapshot = catalogVersion.current();
+
+        assertEquals(7, snapshot.version());
+        assertEquals(lastModified, snapshot.lastModified());
+    }
+
+    @Test
+    @DisplayName("Should advance the row right away outside a transaction")
+    void bump_ShouldAdvanceRow_WithoutTransaction() {
+        catalogVersion.bump();
+
+        verify(catalogRevisionRepository).advance(eq(CatalogVersion.ID), any());
+    }
+
+    @Test
+    @DisplayName("Should advance the row only once the surrounding transaction commits")
+    void bump_ShouldAdvanceRow_AfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        catalogVersion.bump();
+        verify(catalogRevisionRepository, never()).advance(anyShort(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(catalogRevisionRepository).advance(eq(CatalogVersion.ID), any());
+    }
+
+    @Test
+    @DisplayName("Should leave the row alone when the surrounding transaction rolls back")
+    void bump_ShouldNotAdvanceRow_OnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        catalogVersion.bump();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(catalogRevisionRepository, never()).advance(anyShort(), any());
+    }
+
+    @Test
+    @DisplayName("Should not reuse an ETag when a version number comes back after the table is recreated")
+    void etag_ShouldIncludeLastModified() {
+        CatalogVersion.Snapshot before = new CatalogVersion.Snapshot(3, Instant.parse("2026-01-01T00:00:00Z"));
+        CatalogVersion.Snapshot after = new CatalogVersion.Snapshot(3, Instant.parse("2026-02-01T00:00:00Z"));
+
+        assertNotEquals(before.etag(), after.etag());
+    }
+}
@@ -1,6 +1,8 @@
 package com.kephas.bookstoreapi.services;
 
+import com.kephas.bookstoreapi.dtos.BookRef;
 import com.kephas.bookstoreapi.dtos.CategoryDto;
+import com.kephas.bookstoreapi.dtos.CategorySummaryDto;
 import com.kephas.bookstoreapi.entities.Book;
 import com.kephas.bookstoreapi.entities.Category;
 import com.kephas.bookstoreapi.exceptions.ResourceNotFoundException;
@@ -15,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -35,6 +38,15 @@ class CategoryServiceTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -55,13 +67,13 @@ class CategoryServiceTest {
         @Test
         @DisplayName("Should return list of categories")
         void getCategories_ShouldReturnList() {
-            when(categoryRepository.findAll()).thenReturn(List.of(category));
+            when(categoryRepository.findAllSummaries()).thenReturn(List.of(new CategorySummaryDto(category.getId(), "Fiction", "", 1)));
 
-            List<Category> result = categoryService.getCategories();
+            List<CategorySummaryDto> result = categoryService.getCategories();
 
             assertEquals(1, result.size());
-            assertEquals("Fiction", result.get(0).getName());
-            verify(categoryRepository, times(1)).findAll();
+            assertEquals("Fiction", result.get(0).name());
+            verify(categoryRepository, times(1)).findAllSummaries();
         }
     }
 
@@ -72,23 +84,23 @@ class CategoryServiceTest {
         @DisplayName("Should return single category")
         void getOneCategory_ShouldReturn_WhenExists() {
             UUID id = category.getId();
-            when(categoryRepository.findById(id)).thenReturn(Optional.of(category));
-            when(categoryMapper.toDto(category)).thenReturn(categoryDto);
+            when(categoryRepository.findWithBooksById(id)).thenReturn(Optional.of(category));
+            when(categoryMapper.toDto(category, true)).thenReturn(categoryDto);
 
-            CategoryDto result = categoryService.getOneCategory(id);
+            CategoryDto result = categoryService.getOneCategory(id, true);
 
             assertEquals("Fiction", result.name());
-            verify(categoryRepository, times(1)).findById(id);
-            verify(categoryMapper, times(1)).toDto(category);
+            verify(categoryRepository, times(1)).findWithBooksById(id);
+            verify(categoryMapper, times(1)).toDto(category, true);
         }
 
         @Test
         @DisplayName("Should throw when category not found")
         void getOneCategory_ShouldThrow_WhenNotFound() {
             UUID id = UUID.randomUUID();
-            when(categoryRepository.findById(id)).thenReturn(Optional.empty());
+            when(categoryRepository.findWithBooksById(id)).thenReturn(Optional.empty());
 
-            assertThrows(ResourceNotFoundException.class, () -> categoryService.getOneCategory(id));
+            assertThrows(ResourceNotFoundException.class, () -> categoryService.getOneCategory(id, true));
         }
     }
 
@@ -144,28 +156,37 @@ class CategoryServiceTest {
         void deleteCategory_ShouldDelete_WhenNoBooks() {
             UUID id = category.getId();
             when(categoryRepository.existsById(id)).thenReturn(true);
-            when(bookRepository.countBooksByCategory_Id(id)).thenReturn(0);
+            Category uncategorized = new Category("Uncategorized", "Auto-created category");
+            when(categoryRepository.findByName("Uncategorized")).thenReturn(Optional.of(uncategorized));
 
             categoryService.deleteCategory(id);
 
+            verify(bookRepository, times(1)).reassignCategory(id, uncategorized);
+            verify(categoryRepository, never()).adjustBookCount(any(), anyLong());
+            verify(eventPublisher, never()).publishEvent(any());
             verify(categoryRepository, times(1)).deleteById(id);
         }
 
         @Test
-        @DisplayName("Should reassign books to Uncategorized and delete category")
+        @DisplayName("Should reassign books to Uncategorized and delete category, whatever its book count says")
         void deleteCategory_ShouldReassignBooks_WhenBooksExist() {
             UUID id = category.getId();
+            category.setBookCount(0);
             when(categoryRepository.existsById(id)).thenReturn(true);
-            when(bookRepository.countBooksByCategory_Id(id)).thenReturn(1);
-            when(bookRepository.findBooksByCategory_Id(id)).thenReturn(List.of(book));
+            BookRef ref = new BookRef(book.getId(), UUID.randomUUID(), id);
+            when(bookRepository.findRefsByCategoryId(id)).thenReturn(List.of(ref));
 
             Category uncategorized = new Category("Uncategorized", "Auto-created category");
             when(categoryRepository.findByName("Uncategorized")).thenReturn(Optional.of(uncategorized));
 
+            when(bookRepository.reassignCategory(id, uncategorized)).thenReturn(1);
+
             categoryService.deleteCategory(id);
 
-            assertEquals(uncategorized, book.getCategory());
-            verify(bookRepository, times(1)).saveAll(List.of(book));
+            verify(bookRepository, times(1)).reassignCategory(id, uncategorized);
+            verify(categoryRepository, times(1)).adjustBookCount(uncategorized.getId(), 1);
+            verify(bookRepository, never()).saveAll(any());
+            verify(catalogCache).evictBook(ref);
             verify(categoryRepository, times(1)).deleteById(id);
         }
 
@@ -174,8 +195,7 @@ class CategoryServiceTest {
         void deleteCategory_ShouldCreateUncategorized_WhenMissing() {
             UUID id = category.getId();
             when(categoryRepository.existsById(id)).thenReturn(true);
-            when(bookRepository.countBooksByCategory_Id(id)).thenReturn(1);
-            when(bookRepository.findBooksByCategory_Id(id)).thenReturn(List.of(book));
+            when(bookRepository.findRefsByCategoryId(id)).thenReturn(List.of(new BookRef(book.getId(), UUID.randomUUID(), id)));
 
             when(categoryRepository.findByName("Uncategorized")).thenReturn(Optional.empty());
 
@@ -184,8 +204,7 @@ class CategoryServiceTest {
 
             categoryService.deleteCategory(id);
 
-            assertEquals("Uncategorized", book.getCategory().getName());
-            verify(bookRepository, times(1)).saveAll(List.of(book));
+            verify(bookRepository, times(1)).reassignCategory(id, uncategorized);
             verify(categoryRepository, times(1)).save(any(Category.class));
             verify(categoryRepository, times(1)).deleteById(id);
         }
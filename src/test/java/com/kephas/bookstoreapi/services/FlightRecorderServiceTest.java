@@ -0,0 +1,94 @@
+package com.kephas.bookstoreapi.services;
+
+import com.kephas.bookstoreapi.exceptions.BadRequestException;
+import com.kephas.bookstoreapi.exceptions.ResourceNotFoundException;
+import com.kephas.bookstoreapi.utils.jfr.ServiceMethodInterceptor;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FlightRecorderService unit tests")
+class FlightRecorderServiceTest {
+
+    private FlightRecorderService flightRecorderService;
+
+    @BeforeEach
+    void setup() {
+        flightRecorderService = new FlightRecorderService(Duration.ofMinutes(1), DataSize.ofMegabytes(10));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try {
+            flightRecorderService.stop().close();
+        } catch (ResourceNotFoundException ignored) {
+            // nothing left running
+        }
+    }
+
+    @Test
+    @DisplayName("Should record service method events and write them as a .jfr file")
+    void startAndStop_ShouldRecordServiceMethodEvents(@TempDir Path dir) throws Exception {
+        ProxyFactory proxyFactory = new ProxyFactory(new Greeter());
+        proxyFactory.addAdvice(new ServiceMethodInterceptor());
+        Greeter greeter = (Greeter) proxyFactory.getProxy();
+
+        flightRecorderService.start("default");
+        greeter.greet("john");
+        Recording recording = flightRecorderService.stop();
+
+        Path file = dir.resolve("recording.jfr");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            flightRecorderService.transfer(recording, out);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.kephas.bookstoreapi.ServiceMethod"))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals("Greeter", events.get(0).getString("service"));
+        assertEquals("greet", events.get(0).getString("method"));
+        assertFalse(events.get(0).getBoolean("failed"));
+    }
+
+    @Test
+    @DisplayName("Should allow only one recording at a time")
+    void start_ShouldThrow_WhenRecordingInProgress() {
+        flightRecorderService.start("default");
+
+        assertThrows(BadRequestException.class, () -> flightRecorderService.start("default"));
+    }
+
+    @Test
+    @DisplayName("Should reject settings other than the JDK's")
+    void start_ShouldThrow_WhenSettingsUnknown() {
+        assertThrows(BadRequestException.class, () -> flightRecorderService.start("../../secrets"));
+    }
+
+    @Test
+    @DisplayName("Should throw when stopping without a recording")
+    void stop_ShouldThrow_WhenNoRecording() {
+        assertThrows(ResourceNotFoundException.class, () -> flightRecorderService.stop());
+    }
+
+    public static class Greeter {
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.kephas.bookstoreapi.services;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtService unit tests")
+class JwtServiceTest {
+
+    private static final String SECRET = "myDefaultSecrettextthatwillbeusedtoserveasasecreetkeyy=tttggtkgtkgtg";
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = new JwtService(SECRET, 60_000, 100, meterRegistry);
+    }
+
+    @Nested
+    @DisplayName("verify() test")
+    class VerifyTest {
+
+        @Test
+        @DisplayName("Should return the claims of a token it issued")
+        void verify_ShouldReturnClaims_WhenTokenValid() {
+            String token = jwtService.generateToken("john@example.com");
+
+            assertEquals("john@example.com", jwtService.verify(token).getSubject());
+        }
+
+        @Test
+        @DisplayName("Should reject an expired token")
+        void verify_ShouldThrow_WhenTokenExpired() {
+            String token = new JwtService(SECRET, -1_000, 100, new SimpleMeterRegistry()).generateToken("john@example.com");
+
+            assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+        }
+
+        @Test
+        @DisplayName("Should reject a token signed with another key")
+        void verify_ShouldThrow_WhenSignedWithOtherKey() {
+            String token = new JwtService(SECRET.toUpperCase(), 60_000, 100, new SimpleMeterRegistry()).generateToken("john@example.com");
+
+            assertThrows(SignatureException.class, () -> jwtService.verify(token));
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed token")
+        void verify_ShouldThrow_WhenTokenMalformed() {
+            assertThrows(MalformedJwtException.class, () -> jwtService.verify("not-a-jwt"));
+            assertThrows(JwtException.class, () -> jwtService.verify("a.b.c"));
+        }
+
+        @Test
+        @DisplayName("Should answer a repeated token from the verified-token cache")
+        void verify_ShouldReturnCachedClaims_WhenTokenSeenBefore() {
+            String token = jwtService.generateToken("john@example.com");
+
+            assertSame(jwtService.verify(token), jwtService.verify(token));
+        }
+
+        @Test
+        @DisplayName("Should time verifications by result")
+        void verify_ShouldRecordTimerPerResult() {
+            String token = jwtService.generateToken("john@example.com");
+            jwtService.verify(token);
+            jwtService.verify(token);
+            assertThrows(JwtException.class, () -> jwtService.verify("a.b.c"));
+
+            assertEquals(1, meterRegistry.get("jwt.verify").tag("result", "verified").timer().count());
+            assertEquals(1, meterRegistry.get("jwt.verify").tag("result", "cached").timer().count());
+            assertEquals(1, meterRegistry.get("jwt.verify").tag("result", "rejected").timer().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("revoke() test")
+    class RevokeTest {
+
+        @Test
+        @DisplayName("Should re-verify a token after it is revoked")
+        void revoke_ShouldDropCachedToken() {
+            String token = jwtService.generateToken("john@example.com");
+            var first = jwtService.verify(token);
+
+            jwtService.revoke(token);
+
+            assertNotSame(first, jwtService.verify(token));
+        }
+
+        @Test
+        @DisplayName("Should drop every cached token of a subject")
+        void revokeAll_ShouldDropSubjectTokens() {
+            String token = jwtService.generateToken("john@example.com");
+            var first = jwtService.verify(token);
+
+            jwtService.revokeAll("john@example.com");
+
+            assertNotSame(first, jwtService.verify(token));
+        }
+    }
+}
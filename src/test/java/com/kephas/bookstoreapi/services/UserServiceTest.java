@@ -1,5 +1,6 @@
 package com.kephas.bookstoreapi.services;
 
+import com.kephas.bookstoreapi.dtos.AuthenticatedUser;
 import com.kephas.bookstoreapi.dtos.UserDtoRequest;
 import com.kephas.bookstoreapi.entities.User;
 import com.kephas.bookstoreapi.entities.UserRole;
@@ -36,15 +37,23 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private JwtService jwtService;
+
     @InjectMocks
     private UserService userService;
 
     private User user;
+    private AuthenticatedUser principal;
     private UserDtoRequest userDto;
 
     @BeforeEach
     void setup() {
-        user = new User(null, "John Doe", "john@example.com", "password123", UserRole.USER, LocalDateTime.now());
+        user = new User(UUID.randomUUID(), "John Doe", "john@example.com", "password123", UserRole.USER, LocalDateTime.now());
+        principal = AuthenticatedUser.of(user);
 
         userDto = new UserDtoRequest("John Updated", "john@example.com", "password123", "newPassword", UserRole.USER);
     }
@@ -55,14 +64,37 @@ class UserServiceTest {
         @Test
         @DisplayName("Should update user details successfully")
         void update_ShouldUpdateUser() {
+            when(userRepository.findById(principal.id())).thenReturn(Optional.of(user));
             when(userRepository.save(user)).thenReturn(user);
 
-            User updated = userService.update(user, userDto);
+            User updated = userService.update(principal, userDto);
 
             assertEquals("John Updated", updated.getName());
             assertEquals("john@example.com", updated.getEmail());
             verify(userRepository, times(1)).save(user);
         }
+
+        @Test
+        @DisplayName("Should evict both the old and the new email from the principal cache")
+        void update_ShouldEvictOldAndNewEmail() {
+            UserDtoRequest emailChange = new UserDtoRequest("John Doe", "johnny@example.com", null, null, UserRole.USER);
+            when(userRepository.findById(principal.id())).thenReturn(Optional.of(user));
+
+            userService.update(principal, emailChange);
+
+            verify(principalCache).evict("john@example.com");
+            verify(principalCache).evict("johnny@example.com");
+            assertEquals("john@example.com", principal.email());
+        }
+
+        @Test
+        @DisplayName("Should throw when the signed-in user no longer exists")
+        void update_ShouldThrow_WhenUserMissing() {
+            when(userRepository.findById(principal.id())).thenReturn(Optional.empty());
+
+            assertThrows(ResourceNotFoundException.class, () -> userService.update(principal, userDto));
+            verify(userRepository, never()).save(any());
+        }
     }
 
     @Nested
@@ -72,8 +104,9 @@ class UserServiceTest {
         @DisplayName("Should change user password successfully")
         void changePassword_ShouldEncodeAndSave() {
             when(passwordEncoder.encode(userDto.newPassword())).thenReturn("encodedPassword");
+            when(userRepository.findById(principal.id())).thenReturn(Optional.of(user));
 
-            userService.changePassword(user, userDto);
+            userService.changePassword(principal, userDto);
 
             verify(authenticationManager, times(1)).authenticate(
                     argThat(token ->
@@ -83,6 +116,8 @@ class UserServiceTest {
             );
             assertEquals("encodedPassword", user.getPassword());
             verify(userRepository, times(1)).save(user);
+            verify(principalCache).evict(user.getEmail());
+            verify(jwtService).revokeAll(user.getEmail());
         }
     }
 
@@ -100,6 +135,7 @@ class UserServiceTest {
             assertEquals("John Doe is now an admin", result);
             assertEquals(UserRole.ADMIN, user.getRole());
             verify(userRepository, times(1)).save(user);
+            verify(principalCache).evict(user.getEmail());
         }
 
         @Test
@@ -139,6 +175,7 @@ class UserServiceTest {
             assertEquals("John Doe is no longer an admin", result);
             assertEquals(UserRole.USER, user.getRole());
             verify(userRepository, times(1)).save(user);
+            verify(principalCache).evict(user.getEmail());
         }
 
         @Test
@@ -0,0 +1,154 @@
+package com.kephas.bookstoreapi.services.search;
+
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.BookSearchCriteria;
+import com.kephas.bookstoreapi.events.AuthorChangedEvent;
+import com.kephas.bookstoreapi.events.BookChangedEvent;
+import com.kephas.bookstoreapi.repositories.BookRepository;
+import com.kephas.bookstoreapi.utils.BookCursor;
+import com.kephas.bookstoreapi.utils.BookSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryBookSearchEngine unit tests")
+class InMemoryBookSearchEngineTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private InMemoryBookSearchEngine searchEngine;
+
+    private BookDto hobbit;
+    private BookDto silmarillion;
+    private BookDto emma;
+
+    @BeforeEach
+    void setup() {
+        hobbit = book("The Hobbit", "A journey there and back again", LocalDate.of(1937, 9, 21), "Fantasy", "J.R.R. Tolkien");
+        silmarillion = book("The Silmarillion", "Myths of the First Age", LocalDate.of(1977, 9, 15), "Fantasy", "J.R.R. Tolkien");
+        emma = book("Emma", "A novel about youthful hubris", LocalDate.of(1815, 12, 23), "Romance", "Jane Austen");
+
+        when(bookRepository.findDtos(any(), any(Sort.class), anyInt())).thenReturn(List.of(hobbit, silmarillion, emma));
+        searchEngine.rebuild();
+    }
+
+    private static BookDto book(String title, String description, LocalDate published, String category, String author) {
+        return new BookDto(UUID.randomUUID(), title, UUID.randomUUID().toString(), BigDecimal.TEN, published, description,
+                UUID.randomUUID(), category, UUID.randomUUID(), author);
+    }
+
+    private List<String> titles(BookSearchCriteria criteria) {
+        return searchEngine.search(criteria, BookSort.TITLE, Sort.Direction.ASC, null, 10).stream()
+                .map(BookDto::title)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Should match substrings case-insensitively like the SQL engines")
+    void search_ShouldMatchSubstrings() {
+        assertEquals(List.of("The Hobbit"), titles(new BookSearchCriteria(null, "HOBB", null, null, null)));
+        assertEquals(List.of("The Hobbit", "The Silmarillion"), titles(new BookSearchCriteria(null, "he", "tolk", "fantasy", null)));
+        assertEquals(List.of(), titles(new BookSearchCriteria(null, "hobbit", "austen", null, null)));
+    }
+
+    @Test
+    @DisplayName("Should match keyword against description, title, author and category")
+    void search_ShouldMatchKeywordAcrossFields() {
+        assertEquals(List.of("Emma"), titles(new BookSearchCriteria("hubris", null, null, null, null)));
+        assertEquals(List.of("Emma"), titles(new BookSearchCriteria("romance", null, null, null, null)));
+        assertEquals(List.of("The Hobbit", "The Silmarillion"), titles(new BookSearchCriteria("tolkien", null, null, null, null)));
+    }
+
+    @Test
+    @DisplayName("Should filter by year and page after cursor")
+    void search_ShouldFilterYearAndPage() {
+        assertEquals(List.of("Emma"), titles(new BookSearchCriteria(null, null, null, null, 1815)));
+
+        List<BookDto> first = searchEngine.search(BookSearchCriteria.none(), BookSort.PUBLICATION_DATE, Sort.Direction.DESC, null, 2);
+        assertEquals(List.of(silmarillion, hobbit), first);
+
+        BookCursor cursor = BookCursor.of(BookSort.PUBLICATION_DATE, Sort.Direction.DESC, first.get(1));
+        assertEquals(List.of(emma), searchEngine.search(BookSearchCriteria.none(), BookSort.PUBLICATION_DATE, Sort.Direction.DESC, cursor, 2));
+    }
+
+    @Test
+    @DisplayName("Should page an unfiltered listing in sort order from the cursor")
+    void search_ShouldPageUnfilteredListingInOrder() {
+        List<BookDto> first = searchEngine.search(BookSearchCriteria.none(), BookSort.TITLE, Sort.Direction.ASC, null, 2);
+        assertEquals(List.of(emma, hobbit), first);
+
+        BookCursor cursor = BookCursor.of(BookSort.TITLE, Sort.Direction.ASC, first.get(1));
+        assertEquals(List.of(silmarillion), searchEngine.search(BookSearchCriteria.none(), BookSort.TITLE, Sort.Direction.ASC, cursor, 2));
+
+        searchEngine.remove(hobbit.id());
+        assertEquals(List.of(emma, silmarillion), searchEngine.search(BookSearchCriteria.none(), BookSort.TITLE, Sort.Direction.ASC, null, 2));
+    }
+
+    @Test
+    @DisplayName("Should reindex an author's books in batches")
+    void onAuthorChanged_ShouldReindexInBatches() {
+        clearInvocations(bookRepository);
+
+        searchEngine.onAuthorChanged(new AuthorChangedEvent(hobbit.authorId()));
+
+        verify(bookRepository).findDtos(any(), any(Sort.class), eq(1000));
+    }
+
+    @Test
+    @DisplayName("Should count matches up to the limit")
+    void countUpTo_ShouldStopAtLimit() {
+        assertEquals(2, searchEngine.countUpTo(new BookSearchCriteria(null, null, "tolkien", null, null), 10));
+        assertEquals(1, searchEngine.countUpTo(BookSearchCriteria.none(), 1));
+    }
+
+    @Test
+    @DisplayName("Should apply book change events incrementally")
+    void onBookChanged_ShouldUpdateIndex() {
+        BookDto renamed = new BookDto(hobbit.id(), "There and Back Again", hobbit.isbn(), hobbit.price(), hobbit.publicationDate(),
+                hobbit.description(), hobbit.categoryId(), hobbit.categoryName(), hobbit.authorId(), hobbit.authorName());
+        when(bookRepository.findDtoById(hobbit.id())).thenReturn(Optional.of(renamed));
+
+        searchEngine.onBookChanged(new BookChangedEvent(hobbit.id(), false));
+
+        assertEquals(List.of(), titles(new BookSearchCriteria(null, "hobbit", null, null, null)));
+        assertEquals(List.of("There and Back Again"), titles(new BookSearchCriteria(null, "back", null, null, null)));
+
+        searchEngine.onBookChanged(new BookChangedEvent(emma.id(), true));
+
+        assertEquals(List.of(), titles(new BookSearchCriteria(null, "emma", null, null, null)));
+        verify(bookRepository, never()).findDtoById(emma.id());
+    }
+
+    @Test
+    @DisplayName("Should keep changes that commit while the index is being rebuilt")
+    void rebuild_ShouldReplayChangesMadeDuringRebuild() {
+        BookDto persuasion = book("Persuasion", "A second chance at love", LocalDate.of(1817, 12, 20), "Romance", "Jane Austen");
+        when(bookRepository.findDtos(any(), any(Sort.class), anyInt())).thenAnswer(invocation -> {
+            searchEngine.index(persuasion);
+            searchEngine.remove(emma.id());
+            return List.of(hobbit, silmarillion, emma);
+        });
+
+        searchEngine.rebuild();
+
+        assertEquals(List.of("Persuasion"), titles(new BookSearchCriteria(null, null, "austen", null, null)));
+    }
+}
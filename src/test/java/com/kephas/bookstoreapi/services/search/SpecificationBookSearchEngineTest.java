@@ -0,0 +1,108 @@
+package com.kephas.bookstoreapi.services.search;
+
+import com.kephas.bookstoreapi.dtos.BookDto;
+import com.kephas.bookstoreapi.dtos.BookSearchCriteria;
+import com.kephas.bookstoreapi.entities.Author;
+import com.kephas.bookstoreapi.entities.Book;
+import com.kephas.bookstoreapi.entities.Category;
+import com.kephas.bookstoreapi.repositories.AuthorRepository;
+import com.kephas.bookstoreapi.repositories.BookRepository;
+import com.kephas.bookstoreapi.repositories.CategoryRepository;
+import com.kephas.bookstoreapi.utils.BookCursor;
+import com.kephas.bookstoreapi.utils.BookSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(SpecificationBookSearchEngine.class)
+@DisplayName("SpecificationBookSearchEngine tests")
+class SpecificationBookSearchEngineTest {
+
+    @Autowired
+    private SpecificationBookSearchEngine searchEngine;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @BeforeEach
+    void setup() {
+        Author tolkien = authorRepository.save(new Author("J.R.R. Tolkien", "Bio"));
+        Author austen = authorRepository.save(new Author("Jane Austen", "Bio"));
+        Category fantasy = categoryRepository.save(new Category("Fantasy", "Desc"));
+        Category romance = categoryRepository.save(new Category("Romance", "Desc"));
+
+        bookRepository.save(new Book(null, "The Hobbit", "ISBN1", BigDecimal.TEN, LocalDate.of(1937, 9, 21), "Desc", fantasy, tolkien));
+        bookRepository.save(new Book(null, "The Silmarillion", "ISBN2", BigDecimal.TEN, LocalDate.of(1977, 9, 15), "Desc", fantasy, tolkien));
+        bookRepository.save(new Book(null, "Emma", "ISBN3", BigDecimal.TEN, LocalDate.of(1815, 12, 23), "Desc", romance, austen));
+        bookRepository.save(new Book(null, "Persuasion", "ISBN4", BigDecimal.TEN, LocalDate.of(1817, 12, 20), "Desc", romance, austen));
+    }
+
+    @Test
+    @DisplayName("Should match title, author and category case-insensitively")
+    void search_ShouldApplyFilters() {
+        List<BookDto> books = searchEngine.search(new BookSearchCriteria(null, "the", "TOLKIEN", "fan", null),
+                BookSort.TITLE, Sort.Direction.ASC, null, 10);
+
+        assertEquals(List.of("The Hobbit", "The Silmarillion"), books.stream().map(BookDto::title).toList());
+        assertEquals("J.R.R. Tolkien", books.get(0).authorName());
+    }
+
+    @Test
+    @DisplayName("Should filter by publication year")
+    void search_ShouldFilterByYear() {
+        List<BookDto> books = searchEngine.search(new BookSearchCriteria(null, null, null, null, 1815),
+                BookSort.TITLE, Sort.Direction.ASC, null, 10);
+
+        assertEquals(1, books.size());
+        assertEquals("Emma", books.get(0).title());
+    }
+
+    @Test
+    @DisplayName("Should page through results after a cursor in descending date order")
+    void search_ShouldContinueAfterCursor() {
+        List<String> titles = new ArrayList<>();
+        BookCursor cursor = null;
+        List<BookDto> page;
+        do {
+            page = searchEngine.search(BookSearchCriteria.none(), BookSort.PUBLICATION_DATE, Sort.Direction.DESC, cursor, 1);
+            page.forEach(book -> titles.add(book.title()));
+            cursor = page.isEmpty() ? null : BookCursor.of(BookSort.PUBLICATION_DATE, Sort.Direction.DESC, page.get(0));
+        } while (!page.isEmpty());
+
+        assertEquals(List.of("The Silmarillion", "The Hobbit", "Persuasion", "Emma"), titles);
+    }
+
+    @Test
+    @DisplayName("Should page through results in id order")
+    void search_ShouldContinueAfterIdCursor() {
+        List<BookDto> all = searchEngine.search(BookSearchCriteria.none(), BookSort.ID, Sort.Direction.ASC, null, 10);
+        BookCursor cursor = BookCursor.of(BookSort.ID, Sort.Direction.ASC, all.get(1));
+
+        assertEquals(all.subList(2, 4), searchEngine.search(BookSearchCriteria.none(), BookSort.ID, Sort.Direction.ASC, cursor, 10));
+    }
+
+    @Test
+    @DisplayName("Should count matches up to the limit")
+    void countUpTo_ShouldCountMatches() {
+        assertEquals(2, searchEngine.countUpTo(new BookSearchCriteria(null, null, "austen", null, null), 10));
+        assertEquals(3, searchEngine.countUpTo(BookSearchCriteria.none(), 3));
+    }
+}
@@ -0,0 +1,49 @@
+package com.kephas.bookstoreapi.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kephas.bookstoreapi.dtos.AuthorDto;
+import com.kephas.bookstoreapi.services.CatalogVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CatalogHttpCacheTest {
+
+    private final CatalogVersion catalogVersion = mock(CatalogVersion.class);
+    private final ObjectMapper objectMapper = spy(new ObjectMapper());
+    private final CatalogHttpCache catalogHttpCache =
+            new CatalogHttpCache(catalogVersion, objectMapper, Duration.ZERO, Duration.ZERO);
+
+    @Test
+    void entityNotModified_ShouldHashEachInstanceOnce() throws Exception {
+        when(catalogVersion.current()).thenReturn(new CatalogVersion.Snapshot(1, Instant.parse("2026-01-01T00:00:00Z")));
+        AuthorDto author = new AuthorDto(UUID.randomUUID(), "Kephas", "Test Author", null);
+
+        ServletWebRequest first = request(null);
+        assertFalse(catalogHttpCache.entityNotModified(first, author));
+        String etag = first.getResponse().getHeader("ETag");
+
+        assertTrue(catalogHttpCache.entityNotModified(request(etag), author));
+        verify(objectMapper, times(1)).writeValueAsBytes(any());
+
+        AuthorDto renamed = new AuthorDto(author.id(), "Renamed", "Test Author", null);
+        assertFalse(catalogHttpCache.entityNotModified(request(etag), renamed));
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/authors/1");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,43 @@
+package com.kephas.bookstoreapi.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UuidV7Generator unit tests")
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("Should produce RFC 9562 version 7 UUIDs carrying the current time")
+    void next_ShouldProduceVersion7() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after + 1);
+    }
+
+    @Test
+    @DisplayName("Should produce unique ids in strictly increasing byte order")
+    void next_ShouldBeMonotonic() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        List<UUID> sorted = new ArrayList<>(ids);
+        sorted.sort(Comparator.comparing(UUID::toString));
+        assertEquals(ids, sorted);
+    }
+}
@@ -0,0 +1,89 @@
+package com.kephas.bookstoreapi.utils.timing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"bookstore.timing.enabled=true", "bookstore.timing.sample-rate=1"})
+@AutoConfigureMockMvc
+class RequestTimingFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Test
+    void context_ShouldUseTimedConverterAndWrapDataSource() throws Exception {
+        assertTrue(handlerAdapter.getMessageConverters().stream()
+                .anyMatch(TimedJacksonHttpMessageConverter.class::isInstance));
+        assertInstanceOf(ProxyDataSource.class, dataSource);
+        assertTrue(dataSource.isWrapperFor(HikariDataSource.class));
+    }
+
+    @Test
+    void connection_ShouldOnlyBeProxiedWhileSampled() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertFalse(Proxy.isProxyClass(connection.getClass()));
+        }
+
+        RequestTiming timing = RequestTiming.begin();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT 1 UNION ALL SELECT 2")) {
+            assertTrue(Proxy.isProxyClass(connection.getClass()));
+            while (resultSet.next()) {
+                assertTrue(resultSet.getInt(1) > 0);
+            }
+        } finally {
+            RequestTiming.end();
+        }
+
+        assertEquals(1, timing.statements());
+        assertEquals(2, timing.rows());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void sampledRequest_ShouldReportServerTiming() throws Exception {
+        mockMvc.perform(get("/api/v1/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestTimingFilter.SERVER_TIMING, allOf(
+                        containsString("db;dur="),
+                        matchesPattern(".*desc=\"[1-9]\\d* statements, \\d+ rows\".*"),
+                        containsString("serialize;dur="),
+                        containsString("total;dur="))));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void notModified_ShouldStillReportServerTiming() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/books"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/books").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(RequestTimingFilter.SERVER_TIMING, containsString("total;dur=")));
+    }
+}
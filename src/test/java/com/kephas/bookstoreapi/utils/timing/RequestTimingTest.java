@@ -0,0 +1,72 @@
+package com.kephas.bookstoreapi.utils.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.end();
+    }
+
+    @Test
+    @DisplayName("Outside a sampled request spans and counters are no-ops")
+    void start_WithoutCurrentRequest_ShouldBeNoOp() {
+        try (RequestTiming.Span ignored = RequestTiming.start(RequestTiming.Phase.DB)) {
+            RequestTiming.recordStatements(1);
+            RequestTiming.recordRow();
+        }
+
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    @DisplayName("A phase entered again while open is timed once")
+    void start_NestedSamePhase_ShouldOnlyTimeOuterSpan() throws InterruptedException {
+        RequestTiming timing = RequestTiming.begin();
+
+        try (RequestTiming.Span outer = RequestTiming.start(RequestTiming.Phase.MAP)) {
+            try (RequestTiming.Span inner = RequestTiming.start(RequestTiming.Phase.MAP)) {
+                Thread.sleep(2);
+            }
+            long afterInner = timing.nanos(RequestTiming.Phase.MAP);
+            assertEquals(0, afterInner);
+        }
+
+        assertTrue(timing.nanos(RequestTiming.Phase.MAP) >= 2_000_000);
+    }
+
+    @Test
+    @DisplayName("Server-Timing lists entered phases, the db counts and the total")
+    void serverTiming_ShouldListEnteredPhases() {
+        RequestTiming timing = new RequestTiming(0);
+        timing.open(RequestTiming.Phase.JWT).close();
+        try (RequestTiming.Span ignored = timing.open(RequestTiming.Phase.DB)) {
+            RequestTiming.recordStatements(2);
+        }
+
+        String header = timing.serverTiming(5_000_000);
+
+        assertTrue(header.startsWith("jwt;dur="), header);
+        assertFalse(header.contains("serialize"), header);
+        assertTrue(header.endsWith("total;dur=5.000"), header);
+    }
+
+    @Test
+    @DisplayName("Statements and rows are counted on the current request")
+    void record_ShouldCountOnCurrentRequest() {
+        RequestTiming timing = RequestTiming.begin();
+
+        RequestTiming.recordStatements(3);
+        RequestTiming.recordRow();
+        RequestTiming.recordRow();
+
+        assertEquals(3, timing.statements());
+        assertEquals(2, timing.rows());
+        assertTrue(timing.logFields(System.nanoTime()).endsWith("statements=3 rows=2"));
+    }
+}